@@ -16,16 +16,28 @@
 
 package com.googlesource.gerrit.plugins.reviewai;
 
+import com.google.gerrit.extensions.registration.DynamicSet;
+import com.google.gerrit.lifecycle.LifecycleModule;
+import com.google.gerrit.server.config.GerritConfigListener;
 import com.google.gerrit.server.events.EventListener;
-import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
+import com.googlesource.gerrit.plugins.reviewai.config.ConfigCreator;
+import com.googlesource.gerrit.plugins.reviewai.listener.ChangeLeaseManager;
+import com.googlesource.gerrit.plugins.reviewai.listener.EventJournalReplayer;
 import com.googlesource.gerrit.plugins.reviewai.listener.GerritListener;
+import com.googlesource.gerrit.plugins.reviewai.listener.ReviewBackfill;
+import com.googlesource.gerrit.plugins.reviewai.listener.ReviewWarmUp;
 
-public class Module extends AbstractModule {
+public class Module extends LifecycleModule {
   @Override
   protected void configure() {
     Multibinder<EventListener> eventListenerBinder =
         Multibinder.newSetBinder(binder(), EventListener.class);
     eventListenerBinder.addBinding().to(GerritListener.class);
+    DynamicSet.bind(binder(), GerritConfigListener.class).to(ConfigCreator.class);
+    listener().to(ChangeLeaseManager.class);
+    listener().to(EventJournalReplayer.class);
+    listener().to(ReviewBackfill.class);
+    listener().to(ReviewWarmUp.class);
   }
 }
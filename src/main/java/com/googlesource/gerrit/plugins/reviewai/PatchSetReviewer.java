@@ -20,6 +20,7 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.data.ChangeSetDataHandler;
+import com.googlesource.gerrit.plugins.reviewai.data.IncrementalReviewHandler;
 import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.AiConnectionFailException;
 import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.common.client.api.ai.IAiClient;
 import com.googlesource.gerrit.plugins.reviewai.localization.Localizer;
@@ -53,11 +54,14 @@ public class PatchSetReviewer {
   @Getter private final IAiClient openAiClient;
   private final Localizer localizer;
   private final DebugCodeBlocksReview debugCodeBlocksReview;
+  private final IncrementalReviewHandler incrementalReviewHandler;
 
   private GerritCommentRange gerritCommentRange;
   private List<ReviewBatch> reviewBatches;
   private List<GerritComment> commentProperties;
   private List<Integer> reviewScores;
+  private Map<String, Integer> fileScores;
+  private boolean reviewedFilesToSave;
 
   @Inject
   PatchSetReviewer(
@@ -66,13 +70,15 @@ public class PatchSetReviewer {
       ChangeSetData changeSetData,
       Provider<GerritClientReview> clientReviewProvider,
       IAiClient openAiClient,
-      Localizer localizer) {
+      Localizer localizer,
+      IncrementalReviewHandler incrementalReviewHandler) {
     this.config = config;
     this.gerritClient = gerritClient;
     this.changeSetData = changeSetData;
     this.clientReviewProvider = clientReviewProvider;
     this.openAiClient = openAiClient;
     this.localizer = localizer;
+    this.incrementalReviewHandler = incrementalReviewHandler;
     debugCodeBlocksReview = new DebugCodeBlocksReview(localizer);
     log.debug("PatchSetReviewer initialized.");
   }
@@ -81,26 +87,50 @@ public class PatchSetReviewer {
     log.debug("Starting review process for change: {}", change.getFullChangeId());
     reviewBatches = new ArrayList<>();
     reviewScores = new ArrayList<>();
+    fileScores = new HashMap<>();
+    reviewedFilesToSave = false;
     commentProperties = gerritClient.getClientData(change).getCommentProperties();
     gerritCommentRange = new GerritCommentRange(gerritClient, change);
     String patchSet = gerritClient.getPatchSet(change);
     ChangeSetDataHandler.update(config, change, gerritClient, changeSetData, localizer);
 
     if (changeSetData.shouldRequestAiReview()) {
-      AiResponseContent reviewReply = null;
-      try {
-        reviewReply = getReviewReply(change, patchSet);
-        log.debug("OpenAI response: {}", reviewReply);
-      } catch (AiConnectionFailException e) {
-        changeSetData.setReviewSystemMessage(localizer.getText("message.openai.connection.error"));
-      }
-      if (reviewReply != null) {
-        retrieveReviewBatches(reviewReply, change);
+      incrementalReviewHandler.load(
+          change,
+          changeSetData,
+          gerritClient.getClientData(change).getGerritClientPatchSet().getPatchSetFiles());
+      if (incrementalReviewHandler.isUnmodified()) {
+        reviewBatches.add(
+            new ReviewBatch(localizer.getText("message.review.incremental.unchanged")));
+      } else {
+        requestReview(change, incrementalReviewHandler.filterPatch(patchSet));
       }
+      reviewScores.addAll(incrementalReviewHandler.getCarriedForwardScores());
     }
+    // The files are only recorded as reviewed once their findings are written to the Change
+    Map<String, Integer> reviewedFileScores = fileScores;
+    Runnable onPublished =
+        reviewedFilesToSave ? () -> incrementalReviewHandler.save(reviewedFileScores) : () -> {};
     clientReviewProvider
         .get()
-        .setReview(change, reviewBatches, changeSetData, getReviewScore(change));
+        .setReview(change, reviewBatches, changeSetData, getReviewScore(change), onPublished);
+  }
+
+  private void requestReview(GerritChange change, String patchSet) throws Exception {
+    AiResponseContent reviewReply = null;
+    try {
+      reviewReply = getReviewReply(change, patchSet);
+      log.debug("OpenAI response: {}", reviewReply);
+    } catch (AiConnectionFailException e) {
+      changeSetData.setReviewSystemMessage(localizer.getText("message.openai.connection.error"));
+    }
+    if (reviewReply != null) {
+      retrieveReviewBatches(reviewReply, change);
+      // A message replied in place of the review, such as for a too large Patch Set, is not saved
+      if (reviewReply.getMessageContent() == null || reviewReply.getMessageContent().isEmpty()) {
+        reviewedFilesToSave = true;
+      }
+    }
   }
 
   private void setCommentBatchMap(ReviewBatch batchMap, Integer batchID) {
@@ -148,9 +178,16 @@ public class PatchSetReviewer {
       boolean isIrrelevant = isIrrelevantReply(replyItem);
       boolean isHidden =
           replyItem.isRepeated() || replyItem.isConflicting() || isIrrelevant || isNotNegative;
+      boolean isCommentReply = change.getIsCommentEvent() && replyItem.getId() != null;
+      if (!isCommentReply) {
+        filenameSanitizer.sanitizeFilename(replyItem);
+      }
       if (!replyItem.isConflicting() && !isIrrelevant && score != null) {
         log.debug("Score added: {}", score);
         reviewScores.add(score);
+        if (replyItem.getFilename() != null) {
+          fileScores.merge(replyItem.getFilename(), score, Math::min);
+        }
       }
       if (reply == null
           || !change.getIsCommentEvent() && changeSetData.getReplyFilterEnabled() && isHidden) {
@@ -160,10 +197,9 @@ public class PatchSetReviewer {
         reply += debugCodeBlocksReview.getDebugCodeBlock(replyItem, isHidden);
       }
       ReviewBatch batchMap = new ReviewBatch(reply);
-      if (change.getIsCommentEvent() && replyItem.getId() != null) {
+      if (isCommentReply) {
         setCommentBatchMap(batchMap, replyItem.getId());
       } else {
-        filenameSanitizer.sanitizeFilename(replyItem);
         setPatchSetReviewBatchMap(batchMap, replyItem);
       }
       reviewBatches.add(batchMap);
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritComment;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published comments of the Changes, kept for the meta revision they were read at. The comments
+ * of a Change are read again from Gerrit only once its meta revision has moved on.
+ */
+@Singleton
+@Slf4j
+public class CommentSnapshotCache {
+  private static final String KEY_COMMENT_SNAPSHOT_CACHE_SIZE = "commentSnapshotCacheSize";
+  private static final int DEFAULT_COMMENT_SNAPSHOT_CACHE_SIZE = 20000;
+
+  /**
+   * Comments in the order returned by Gerrit, indexed by id and by change message for the
+   * Patch Set level ones, which are also listed by update date.
+   */
+  public record Snapshot(
+      String metaRevId,
+      List<GerritComment> comments,
+      Map<String, GerritComment> commentMap,
+      Map<String, GerritComment> patchSetCommentMap,
+      List<GerritComment> patchSetComments) {}
+
+  @FunctionalInterface
+  public interface SnapshotLoader {
+    Snapshot load(Snapshot previous) throws Exception;
+  }
+
+  private final Cache<String, Snapshot> cache;
+
+  @Inject
+  CommentSnapshotCache(@PluginName String pluginName, PluginConfigFactory pluginConfigFactory) {
+    this(
+        pluginConfigFactory
+            .getFromGerritConfig(pluginName)
+            .getInt(KEY_COMMENT_SNAPSHOT_CACHE_SIZE, DEFAULT_COMMENT_SNAPSHOT_CACHE_SIZE));
+  }
+
+  public CommentSnapshotCache(long maximumComments) {
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(0, maximumComments))
+            .weigher((String fullChangeId, Snapshot snapshot) -> snapshot.comments().size() + 1)
+            .build();
+  }
+
+  /**
+   * Returns the snapshot of the Change at the given meta revision, loading it from the previous
+   * one when the Change has been updated since.
+   */
+  public Snapshot get(GerritChange change, String metaRevId, SnapshotLoader loader)
+      throws Exception {
+    String fullChangeId = change.getFullChangeId();
+    Snapshot snapshot = cache.getIfPresent(fullChangeId);
+    if (snapshot != null && metaRevId != null && metaRevId.equals(snapshot.metaRevId())) {
+      log.debug("Reusing the comments of change {} at meta revision {}", fullChangeId, metaRevId);
+      return snapshot;
+    }
+    snapshot = loader.load(snapshot);
+    if (metaRevId != null) {
+      cache.put(fullChangeId, snapshot);
+    }
+    return snapshot;
+  }
+}
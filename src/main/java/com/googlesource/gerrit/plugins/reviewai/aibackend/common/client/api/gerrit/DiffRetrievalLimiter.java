@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the number of file diffs fetched from Gerrit at the same time by all the reviews in
+ * progress, however many files and Patch Sets they are retrieving.
+ */
+@Singleton
+public class DiffRetrievalLimiter {
+  private static final String KEY_DIFF_RETRIEVAL_PARALLELISM = "diffRetrievalParallelism";
+  private static final int DEFAULT_DIFF_RETRIEVAL_PARALLELISM = 8;
+
+  private final Semaphore permits;
+
+  @Inject
+  DiffRetrievalLimiter(@PluginName String pluginName, PluginConfigFactory pluginConfigFactory) {
+    this(
+        pluginConfigFactory
+            .getFromGerritConfig(pluginName)
+            .getInt(KEY_DIFF_RETRIEVAL_PARALLELISM, DEFAULT_DIFF_RETRIEVAL_PARALLELISM));
+  }
+
+  public DiffRetrievalLimiter(int parallelism) {
+    permits = new Semaphore(Math.max(1, parallelism), true);
+  }
+
+  /** Returns the task running once a fetch slot is available, and freeing it on completion. */
+  public <T> Callable<T> bound(Callable<T> task) {
+    return () -> {
+      permits.acquire();
+      try {
+        return task.call();
+      } finally {
+        permits.release();
+      }
+    };
+  }
+}
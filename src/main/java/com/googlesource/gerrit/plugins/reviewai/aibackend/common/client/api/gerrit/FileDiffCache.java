@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.patch.diff.FileDiffProcessed;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Processed file diffs shared by the events of all the Changes. A diff is identified by the
+ * revision it belongs to, so the entries never become outdated and are only evicted to keep the
+ * memory usage within the configured size.
+ */
+@Singleton
+public class FileDiffCache {
+  private static final String KEY_FILE_DIFF_CACHE_SIZE = "fileDiffCacheSize";
+  private static final int DEFAULT_FILE_DIFF_CACHE_SIZE_MB = 32;
+  private static final long BYTES_PER_MB = 1024 * 1024;
+
+  public record Key(
+      String project, String revision, int base, String path, boolean fullFileReview) {}
+
+  public record Entry(FileDiffProcessed fileDiffProcessed, String reviewFileDiff) {}
+
+  private final Cache<Key, Entry> cache;
+
+  @Inject
+  FileDiffCache(@PluginName String pluginName, PluginConfigFactory pluginConfigFactory) {
+    this(
+        BYTES_PER_MB
+            * pluginConfigFactory
+                .getFromGerritConfig(pluginName)
+                .getInt(KEY_FILE_DIFF_CACHE_SIZE, DEFAULT_FILE_DIFF_CACHE_SIZE_MB));
+  }
+
+  public FileDiffCache(long maximumBytes) {
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(0, maximumBytes))
+            .weigher(FileDiffCache::getWeight)
+            .build();
+  }
+
+  /** Returns the cached diff, loading it once for the concurrent events requesting it. */
+  public Entry get(Key key, Callable<Entry> loader) throws Exception {
+    try {
+      return cache.get(key, loader);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  // Approximate size in bytes of the strings held by the entry
+  private static int getWeight(Key key, Entry entry) {
+    long chars = key.path().length() + entry.reviewFileDiff().length();
+    for (String line : entry.fileDiffProcessed().getNewContent()) {
+      chars += line.length();
+    }
+    return (int) Math.min(Integer.MAX_VALUE, 2 * chars);
+  }
+}
@@ -36,6 +36,10 @@ public class GerritChange {
   private Event event;
   private String eventType;
   private long eventTimeStamp;
+  // Timestamp of the last event merged into the review of this one by the comment batching
+  @Setter private long batchEndTimeStamp;
+  // Whether other comment events have been merged into the review of this one by the batching
+  @Setter private boolean batched;
   private PatchSetEvent patchSetEvent;
   private Project.NameKey projectNameKey;
   private BranchNameKey branchNameKey;
@@ -62,6 +66,7 @@ public class GerritChange {
     this.event = event;
     eventType = event.getType();
     eventTimeStamp = event.eventCreatedOn;
+    batchEndTimeStamp = eventTimeStamp;
     patchSetEvent = (PatchSetEvent) event;
   }
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import com.google.gerrit.extensions.api.changes.ChangeApi;
+import com.google.gerrit.extensions.client.ListChangesOption;
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.google.gerrit.extensions.common.CommentInfo;
+import com.google.gerrit.extensions.common.DiffInfo;
+import com.google.gerrit.server.util.ManualRequestContext;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventScoped;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads the Changes from the Gerrit API on behalf of all the Gerrit clients of an event, so that
+ * each Change, its comments and its patch are fetched only once per event.
+ */
+@GerritEventScoped
+@Slf4j
+public class GerritChangeDataLoader {
+  // Union of the options needed by the Gerrit clients, fetched with a single request
+  private static final EnumSet<ListChangesOption> CHANGE_OPTIONS =
+      EnumSet.of(
+          ListChangesOption.ALL_REVISIONS,
+          ListChangesOption.DETAILED_LABELS,
+          ListChangesOption.DETAILED_ACCOUNTS,
+          ListChangesOption.MESSAGES);
+
+  private final Configuration config;
+  private final Map<String, ChangeInfo> changeInfos = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, List<CommentInfo>>> comments = new ConcurrentHashMap<>();
+  private final Map<String, String> patches = new ConcurrentHashMap<>();
+  private final AtomicInteger apiCalls = new AtomicInteger();
+
+  @FunctionalInterface
+  private interface ChangeApiCall<T> {
+    T call(ChangeApi changeApi) throws Exception;
+  }
+
+  @Inject
+  public GerritChangeDataLoader(Configuration config) {
+    this.config = config;
+  }
+
+  public ChangeInfo getChangeInfo(GerritChange change) throws Exception {
+    return memoize(changeInfos, change, changeApi -> changeApi.get(CHANGE_OPTIONS));
+  }
+
+  public Map<String, List<CommentInfo>> getComments(GerritChange change) throws Exception {
+    return memoize(comments, change, changeApi -> changeApi.commentsRequest().get());
+  }
+
+  public String getPatch(GerritChange change) throws Exception {
+    return memoize(patches, change, changeApi -> changeApi.current().patch().asString());
+  }
+
+  /** Fetches the diff of a file of the given revision, or of the current one if null. */
+  public DiffInfo getFileDiff(
+      GerritChange change, String revision, String filename, int revisionBase) throws Exception {
+    return call(
+        change,
+        changeApi ->
+            (revision != null ? changeApi.revision(revision) : changeApi.current())
+                .file(filename)
+                .diff(revisionBase));
+  }
+
+  /** Lists the files that differ between the given revision and the base one. */
+  public Set<String> getModifiedFiles(GerritChange change, String revision, String baseRevision)
+      throws Exception {
+    return call(change, changeApi -> changeApi.revision(revision).files(baseRevision).keySet());
+  }
+
+  /** Number of requests sent to the Gerrit API so far. */
+  public int getApiCalls() {
+    return apiCalls.get();
+  }
+
+  private <T> T memoize(Map<String, T> cache, GerritChange change, ChangeApiCall<T> apiCall)
+      throws Exception {
+    T value = cache.get(change.getFullChangeId());
+    if (value != null) {
+      log.debug("Reusing data already fetched for change {}", change.getFullChangeId());
+      return value;
+    }
+    value = call(change, apiCall);
+    if (value != null) {
+      cache.put(change.getFullChangeId(), value);
+    }
+    return value;
+  }
+
+  private <T> T call(GerritChange change, ChangeApiCall<T> apiCall) throws Exception {
+    apiCalls.incrementAndGet();
+    try (ManualRequestContext requestContext = config.openRequestContext()) {
+      return apiCall.call(
+          config
+              .getGerritApi()
+              .changes()
+              .id(
+                  change.getProjectName(),
+                  change.getBranchNameKey().shortName(),
+                  change.getChangeKey().get()));
+    }
+  }
+}
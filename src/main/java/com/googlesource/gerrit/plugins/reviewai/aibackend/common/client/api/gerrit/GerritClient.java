@@ -17,12 +17,14 @@
 package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
 
 import com.google.inject.Inject;
-import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventScoped;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritPermittedVotingRange;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.GerritClientData;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import lombok.extern.slf4j.Slf4j;
 
-@Singleton
+@GerritEventScoped
 @Slf4j
 public class GerritClient {
   private final GerritClientFacade gerritClientFacade;
@@ -41,6 +43,8 @@ public class GerritClient {
   }
 
   public String getPatchSet(GerritChange change) throws Exception {
+    ReviewDeadline.check();
+    ReviewCancellation.check();
     return gerritClientFacade.getPatchSet(change);
   }
 
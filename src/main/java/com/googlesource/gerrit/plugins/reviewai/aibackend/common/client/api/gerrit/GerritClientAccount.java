@@ -39,18 +39,26 @@ public class GerritClientAccount extends GerritClientBase {
   }
 
   public boolean isDisabledUser(String authorUsername) {
-    List<String> enabledUsers = config.getEnabledUsers();
-    List<String> disabledUsers = config.getDisabledUsers();
     boolean isDisabled =
-        !enabledUsers.contains(Configuration.ENABLED_USERS_ALL)
-                && !enabledUsers.contains(authorUsername)
-            || disabledUsers.contains(authorUsername)
-            || isDisabledUserGroup(authorUsername);
+        isDisabledUserName(config, authorUsername) || isDisabledUserGroup(authorUsername);
     log.debug("Checking if user '{}' is disabled: {}", authorUsername, isDisabled);
     return isDisabled;
   }
 
   public boolean isDisabledTopic(String topic) {
+    return isDisabledTopic(config, topic);
+  }
+
+  // Evaluated from the configuration only, without looking up the groups of the user
+  public static boolean isDisabledUserName(Configuration config, String authorUsername) {
+    List<String> enabledUsers = config.getEnabledUsers();
+    List<String> disabledUsers = config.getDisabledUsers();
+    return !enabledUsers.contains(Configuration.ENABLED_USERS_ALL)
+            && !enabledUsers.contains(authorUsername)
+        || disabledUsers.contains(authorUsername);
+  }
+
+  public static boolean isDisabledTopic(Configuration config, String topic) {
     List<String> enabledTopicFilter = config.getEnabledTopicFilter();
     List<String> disabledTopicFilter = config.getDisabledTopicFilter();
     boolean isDisabled =
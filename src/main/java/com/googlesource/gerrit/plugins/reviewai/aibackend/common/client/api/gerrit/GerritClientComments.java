@@ -20,7 +20,6 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.gerrit.extensions.common.CommentInfo;
 import com.google.gerrit.server.account.AccountCache;
 import com.google.gerrit.server.events.CommentAddedEvent;
-import com.google.gerrit.server.util.ManualRequestContext;
 import com.google.inject.Inject;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerProvider;
@@ -41,7 +40,6 @@ import java.util.*;
 
 import static com.googlesource.gerrit.plugins.reviewai.utils.TimeUtils.getEpochSeconds;
 import static com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientDetail.toAuthor;
-import static com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientDetail.toDateString;
 import static com.googlesource.gerrit.plugins.reviewai.settings.Settings.GERRIT_PATCH_SET_FILENAME;
 
 @Slf4j
@@ -55,6 +53,9 @@ public class GerritClientComments extends GerritClientAccount {
   private final HashMap<String, GerritComment> patchSetCommentMap;
   private final PluginDataHandlerProvider pluginDataHandlerProvider;
   private final Localizer localizer;
+  private final GerritChangeDataLoader gerritChangeDataLoader;
+  private final CommentSnapshotCache commentSnapshotCache;
+  private final List<GerritComment> patchSetComments;
 
   private String authorUsername;
   @Getter private List<GerritComment> commentProperties;
@@ -68,20 +69,25 @@ public class GerritClientComments extends GerritClientAccount {
       ICodeContextPolicy codeContextPolicy,
       GitRepoFiles gitRepoFiles,
       PluginDataHandlerProvider pluginDataHandlerProvider,
-      Localizer localizer) {
+      Localizer localizer,
+      GerritChangeDataLoader gerritChangeDataLoader,
+      CommentSnapshotCache commentSnapshotCache) {
     super(config, accountCache);
     this.changeSetData = changeSetData;
     this.codeContextPolicy = codeContextPolicy;
     this.gitRepoFiles = gitRepoFiles;
     this.pluginDataHandlerProvider = pluginDataHandlerProvider;
     this.localizer = localizer;
+    this.gerritChangeDataLoader = gerritChangeDataLoader;
+    this.commentSnapshotCache = commentSnapshotCache;
     commentProperties = new ArrayList<>();
     commentMap = new HashMap<>();
     patchSetCommentMap = new HashMap<>();
+    patchSetComments = new ArrayList<>();
   }
 
   public CommentData getCommentData() {
-    return new CommentData(commentProperties, commentMap, patchSetCommentMap);
+    return new CommentData(commentProperties, commentMap, patchSetCommentMap, patchSetComments);
   }
 
   public boolean retrieveLastComments(GerritChange change) {
@@ -110,63 +116,97 @@ public class GerritClientComments extends GerritClientAccount {
   }
 
   private List<GerritComment> retrieveComments(GerritChange change) throws Exception {
-    try (ManualRequestContext requestContext = config.openRequestContext()) {
-      Map<String, List<CommentInfo>> comments =
-          config
-              .getGerritApi()
-              .changes()
-              .id(
-                  change.getProjectName(),
-                  change.getBranchNameKey().shortName(),
-                  change.getChangeKey().get())
-              .commentsRequest()
-              .get();
-
-      // note that list of Map.Entry was used in order to keep the original response order
-      List<Map.Entry<String, List<GerritComment>>> lastCommentEntries =
-          comments.entrySet().stream()
-              .map(
-                  entry ->
-                      Map.entry(
-                          entry.getKey(),
-                          entry.getValue().stream()
-                              .map(GerritClientComments::toComment)
-                              .collect(toList())))
-              .collect(toList());
-
-      String latestChangeMessageId = null;
-      HashMap<String, List<GerritComment>> latestComments = new HashMap<>();
-      for (Map.Entry<String, List<GerritComment>> entry : lastCommentEntries) {
-        String filename = entry.getKey();
-        log.info("Commented filename: {}", filename);
-
-        List<GerritComment> commentsArray = entry.getValue();
-
-        for (GerritComment commentObject : commentsArray) {
-          commentObject.setFilename(filename);
-          String commentId = commentObject.getId();
-          String changeMessageId = commentObject.getChangeMessageId();
-          String commentAuthorUsername = commentObject.getAuthor().getUsername();
-          log.debug("Change Message Object: {}", commentObject);
-          long updatedTimeStamp = getEpochSeconds(commentObject.getUpdated());
-          if (commentAuthorUsername.equals(authorUsername)
-              && updatedTimeStamp
-                  >= change.getEventTimeStamp() - MAX_SECS_GAP_BETWEEN_EVENT_AND_COMMENT) {
-            log.debug("Found comment with updatedTimeStamp : {}", updatedTimeStamp);
-            latestChangeMessageId = changeMessageId;
-          }
-          latestComments
-              .computeIfAbsent(changeMessageId, k -> new ArrayList<>())
-              .add(commentObject);
-          commentMap.put(commentId, commentObject);
-          if (filename.equals(GERRIT_PATCH_SET_FILENAME)) {
-            patchSetCommentMap.put(changeMessageId, commentObject);
-          }
+    // The meta revision is read before the comments, so a snapshot is never older than its key
+    String metaRevId =
+        Optional.ofNullable(gerritChangeDataLoader.getChangeInfo(change))
+            .map(changeInfo -> changeInfo.metaRevId)
+            .orElse(null);
+    CommentSnapshotCache.Snapshot snapshot =
+        commentSnapshotCache.get(
+            change, metaRevId, previous -> loadSnapshot(change, metaRevId, previous));
+    commentMap.putAll(snapshot.commentMap());
+    patchSetCommentMap.putAll(snapshot.patchSetCommentMap());
+    patchSetComments.clear();
+    patchSetComments.addAll(snapshot.patchSetComments());
+
+    String latestChangeMessageId = null;
+    // Comment events merged by the batching cover the change messages published up to the last
+    // of them
+    Set<String> batchedChangeMessageIds = new LinkedHashSet<>();
+    HashMap<String, List<GerritComment>> latestComments = new HashMap<>();
+    for (GerritComment commentObject : snapshot.comments()) {
+      String changeMessageId = commentObject.getChangeMessageId();
+      String commentAuthorUsername = commentObject.getAuthor().getUsername();
+      long updatedTimeStamp = getEpochSeconds(commentObject.getUpdated());
+      if (commentAuthorUsername.equals(authorUsername)
+          && updatedTimeStamp
+              >= change.getEventTimeStamp() - MAX_SECS_GAP_BETWEEN_EVENT_AND_COMMENT) {
+        log.debug("Found comment with updatedTimeStamp : {}", updatedTimeStamp);
+        latestChangeMessageId = changeMessageId;
+        if (updatedTimeStamp
+            <= change.getBatchEndTimeStamp() + MAX_SECS_GAP_BETWEEN_EVENT_AND_COMMENT) {
+          batchedChangeMessageIds.add(changeMessageId);
         }
       }
+      latestComments.computeIfAbsent(changeMessageId, k -> new ArrayList<>()).add(commentObject);
+    }
+
+    if (change.isBatched()) {
+      return batchedChangeMessageIds.stream()
+          .flatMap(id -> latestComments.get(id).stream())
+          .collect(toList());
+    }
+    return latestComments.getOrDefault(latestChangeMessageId, null);
+  }
 
-      return latestComments.getOrDefault(latestChangeMessageId, null);
+  private CommentSnapshotCache.Snapshot loadSnapshot(
+      GerritChange change, String metaRevId, CommentSnapshotCache.Snapshot previous)
+      throws Exception {
+    Map<String, List<CommentInfo>> comments = gerritChangeDataLoader.getComments(change);
+    Map<String, GerritComment> previousCommentMap =
+        previous != null ? previous.commentMap() : Map.of();
+
+    List<GerritComment> snapshotComments = new ArrayList<>();
+    Map<String, GerritComment> snapshotCommentMap = new HashMap<>();
+    Map<String, GerritComment> snapshotPatchSetCommentMap = new HashMap<>();
+    // note that the comments are listed in the original response order
+    for (Map.Entry<String, List<CommentInfo>> entry : comments.entrySet()) {
+      String filename = entry.getKey();
+      log.info("Commented filename: {}", filename);
+
+      for (CommentInfo comment : entry.getValue()) {
+        // Only the comments published or updated since the previous snapshot are converted
+        GerritComment commentObject = previousCommentMap.get(comment.id);
+        if (commentObject == null
+            || !filename.equals(commentObject.getFilename())
+            || !Objects.equals(commentObject.getUpdated(), toUpdated(comment))) {
+          commentObject = toComment(comment);
+          commentObject.setFilename(filename);
+        }
+        log.debug("Change Message Object: {}", commentObject);
+        snapshotComments.add(commentObject);
+        snapshotCommentMap.put(commentObject.getId(), commentObject);
+        if (filename.equals(GERRIT_PATCH_SET_FILENAME)) {
+          snapshotPatchSetCommentMap.put(commentObject.getChangeMessageId(), commentObject);
+        }
+      }
     }
+    List<GerritComment> snapshotPatchSetComments =
+        new ArrayList<>(snapshotPatchSetCommentMap.values());
+    snapshotPatchSetComments.sort(
+        Comparator.comparing(
+            GerritComment::getUpdated, Comparator.nullsLast(Comparator.naturalOrder())));
+    log.debug(
+        "Loaded {} comments of change {} at meta revision {}",
+        snapshotComments.size(),
+        change.getFullChangeId(),
+        metaRevId);
+    return new CommentSnapshotCache.Snapshot(
+        metaRevId,
+        Collections.unmodifiableList(snapshotComments),
+        Collections.unmodifiableMap(snapshotCommentMap),
+        Collections.unmodifiableMap(snapshotPatchSetCommentMap),
+        Collections.unmodifiableList(snapshotPatchSetComments));
   }
 
   private void addLastComments(GerritChange change) {
@@ -190,6 +230,10 @@ public class GerritClientComments extends GerritClientAccount {
         log.debug("Processing comment: {}", commentMessage);
         if (messageParser.isBotAddressed(commentMessage)) {
           if (messageParser.parseCommands(commentMessage)) {
+            // The other comments merged by the batching along with a command are still answered
+            if (change.isBatched()) {
+              continue;
+            }
             commentProperties.clear();
             return;
           }
@@ -221,10 +265,13 @@ public class GerritClientComments extends GerritClientAccount {
                         .endCharacter(range.endCharacter)
                         .build()));
     gerritComment.setInReplyTo(comment.inReplyTo);
-    Optional.ofNullable(comment.updated)
-        .ifPresent(updated -> gerritComment.setUpdated(toDateString(updated)));
+    gerritComment.setUpdated(toUpdated(comment));
     gerritComment.setMessage(comment.message);
     gerritComment.setCommitId(comment.commitId);
     return gerritComment;
   }
+
+  private static String toUpdated(CommentInfo comment) {
+    return Optional.ofNullable(comment.updated).map(GerritClientDetail::toDateString).orElse(null);
+  }
 }
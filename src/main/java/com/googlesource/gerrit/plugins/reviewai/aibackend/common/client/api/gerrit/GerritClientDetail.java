@@ -22,8 +22,6 @@ import com.google.gerrit.extensions.common.ApprovalInfo;
 import com.google.gerrit.extensions.common.ChangeInfo;
 import com.google.gerrit.extensions.common.ChangeMessageInfo;
 import com.google.gerrit.extensions.common.LabelInfo;
-import com.google.gerrit.server.util.ManualRequestContext;
-import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritComment;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritPatchSetDetail;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritPermittedVotingRange;
@@ -48,11 +46,12 @@ public class GerritClientDetail {
 
   private GerritPatchSetDetail gerritPatchSetDetail;
   private final int aiAccountId;
-  private final Configuration config;
+  private final GerritChangeDataLoader gerritChangeDataLoader;
 
-  public GerritClientDetail(Configuration config, ChangeSetData changeSetData) {
+  public GerritClientDetail(
+      ChangeSetData changeSetData, GerritChangeDataLoader gerritChangeDataLoader) {
     this.aiAccountId = changeSetData.getAiAccountId();
-    this.config = config;
+    this.gerritChangeDataLoader = gerritChangeDataLoader;
     log.debug("Initialized GerritClientDetail for AI account ID: {}", aiAccountId);
   }
 
@@ -103,36 +102,26 @@ public class GerritClientDetail {
   }
 
   private GerritPatchSetDetail getReviewDetail(GerritChange change) throws Exception {
-    try (ManualRequestContext requestContext = config.openRequestContext()) {
-      ChangeInfo info =
-          config
-              .getGerritApi()
-              .changes()
-              .id(
-                  change.getProjectName(),
-                  change.getBranchNameKey().shortName(),
-                  change.getChangeKey().get())
-              .get();
-      log.debug("Retrieved change info for change ID: {}", change.getFullChangeId());
-
-      GerritPatchSetDetail detail = new GerritPatchSetDetail();
-      detail.setWorkInProgress(info.workInProgress);
-      Optional.ofNullable(info.labels)
-          .map(Map::entrySet)
-          .map(Set::stream)
-          .flatMap(
-              labels ->
-                  labels
-                      .filter(label -> LabelId.CODE_REVIEW.equals(label.getKey()))
-                      .map(GerritClientDetail::toLabels)
-                      .findAny())
-          .ifPresent(detail::setLabels);
-      Optional.ofNullable(info.messages)
-          .map(messages -> messages.stream().map(GerritClientDetail::toComment).collect(toList()))
-          .ifPresent(detail::setMessages);
-
-      return detail;
-    }
+    ChangeInfo info = gerritChangeDataLoader.getChangeInfo(change);
+    log.debug("Retrieved change info for change ID: {}", change.getFullChangeId());
+
+    GerritPatchSetDetail detail = new GerritPatchSetDetail();
+    detail.setWorkInProgress(info.workInProgress);
+    Optional.ofNullable(info.labels)
+        .map(Map::entrySet)
+        .map(Set::stream)
+        .flatMap(
+            labels ->
+                labels
+                    .filter(label -> LabelId.CODE_REVIEW.equals(label.getKey()))
+                    .map(GerritClientDetail::toLabels)
+                    .findAny())
+        .ifPresent(detail::setLabels);
+    Optional.ofNullable(info.messages)
+        .map(messages -> messages.stream().map(GerritClientDetail::toComment).collect(toList()))
+        .ifPresent(detail::setMessages);
+
+    return detail;
   }
 
   private static GerritPatchSetDetail.Labels toLabels(Entry<String, LabelInfo> label) {
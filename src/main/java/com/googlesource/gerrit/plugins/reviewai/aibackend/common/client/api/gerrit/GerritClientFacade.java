@@ -38,8 +38,9 @@ public class GerritClientFacade {
       Configuration config,
       ChangeSetData changeSetData,
       GerritClientComments gerritClientComments,
-      IGerritClientPatchSet gerritClientPatchSet) {
-    gerritClientDetail = new GerritClientDetail(config, changeSetData);
+      IGerritClientPatchSet gerritClientPatchSet,
+      GerritChangeDataLoader gerritChangeDataLoader) {
+    gerritClientDetail = new GerritClientDetail(changeSetData, gerritChangeDataLoader);
     this.gerritClientPatchSet = gerritClientPatchSet;
     this.changeSetData = changeSetData;
     this.gerritClientComments = gerritClientComments;
@@ -19,18 +19,22 @@ package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.ger
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import com.google.gerrit.extensions.client.ListChangesOption;
 import com.google.gerrit.extensions.common.ChangeInfo;
 import com.google.gerrit.extensions.common.DiffInfo;
 import com.google.gerrit.server.account.AccountCache;
-import com.google.gerrit.server.util.ManualRequestContext;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.patch.diff.FileDiffProcessed;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritFileDiff;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritPatchSetFileDiff;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.gerrit.GerritReviewFileDiff;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ChangeSetData;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,30 +45,31 @@ import static java.util.stream.Collectors.toList;
 @Slf4j
 public class GerritClientPatchSet extends GerritClientAccount {
   protected final List<String> diffs;
+  protected final GerritChangeDataLoader gerritChangeDataLoader;
+  protected final FileDiffCache fileDiffCache;
+  protected final DiffRetrievalLimiter diffRetrievalLimiter;
 
   @Getter protected Integer revisionBase = 0;
   @Getter protected List<String> patchSetFiles;
 
-  private boolean isCommitMessage;
-
-  public GerritClientPatchSet(Configuration config, AccountCache accountCache) {
+  public GerritClientPatchSet(
+      Configuration config,
+      AccountCache accountCache,
+      GerritChangeDataLoader gerritChangeDataLoader,
+      FileDiffCache fileDiffCache,
+      DiffRetrievalLimiter diffRetrievalLimiter) {
     super(config, accountCache);
+    this.gerritChangeDataLoader = gerritChangeDataLoader;
+    this.fileDiffCache = fileDiffCache;
+    this.diffRetrievalLimiter = diffRetrievalLimiter;
     diffs = new ArrayList<>();
     log.debug("Initialized GerritClientPatchSet.");
   }
 
   public void retrieveRevisionBase(GerritChange change) {
     log.debug("Retrieving revision base for change: {}", change.getFullChangeId());
-    try (ManualRequestContext requestContext = config.openRequestContext()) {
-      ChangeInfo changeInfo =
-          config
-              .getGerritApi()
-              .changes()
-              .id(
-                  change.getProjectName(),
-                  change.getBranchNameKey().shortName(),
-                  change.getChangeKey().get())
-              .get(ListChangesOption.ALL_REVISIONS);
+    try {
+      ChangeInfo changeInfo = gerritChangeDataLoader.getChangeInfo(change);
       revisionBase =
           Optional.ofNullable(changeInfo)
               .map(info -> info.revisions)
@@ -90,34 +95,92 @@ public class GerritClientPatchSet extends GerritClientAccount {
   protected void retrieveFileDiff(GerritChange change, int revisionBase) throws Exception {
     List<String> enabledFileExtensions = config.getEnabledFileExtensions();
     log.debug("Retrieving file diff for change: {}", change.getFullChangeId());
-    try (ManualRequestContext requestContext = config.openRequestContext()) {
-      for (String filename : patchSetFiles) {
-        isCommitMessage = filename.equals("/COMMIT_MSG");
-        if (!isCommitMessage && !matchesExtensionList(filename, enabledFileExtensions)) {
-          continue;
-        }
-        DiffInfo diff =
-            config
-                .getGerritApi()
-                .changes()
-                .id(
-                    change.getProjectName(),
-                    change.getBranchNameKey().shortName(),
-                    change.getChangeKey().get())
-                .current()
-                .file(filename)
-                .diff(revisionBase);
-        processFileDiff(filename, diff);
-        log.debug("Processed file diff for file: {}", filename);
+    List<String> filenames =
+        patchSetFiles.stream()
+            .filter(
+                filename ->
+                    isCommitMessage(filename)
+                        || matchesExtensionList(filename, enabledFileExtensions))
+            .collect(toList());
+    if (filenames.isEmpty()) {
+      return;
+    }
+    String revision =
+        Optional.ofNullable(gerritChangeDataLoader.getChangeInfo(change))
+            .map(changeInfo -> changeInfo.currentRevision)
+            .orElse(null);
+    // The diffs are fetched and processed concurrently, within the deadline and the cancellation of
+    // the review and the server-wide fetch limit, then collected in the order of the files
+    ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("AI review diff-", 0).factory());
+    try {
+      List<Future<FileDiffCache.Entry>> processedFileDiffs = new ArrayList<>();
+      for (String filename : filenames) {
+        processedFileDiffs.add(
+            executor.submit(
+                ReviewCancellation.bind(
+                    ReviewDeadline.bind(
+                        diffRetrievalLimiter.bound(
+                            () -> retrieveFileDiff(change, revision, revisionBase, filename))))));
+      }
+      for (int i = 0; i < filenames.size(); i++) {
+        addFileDiff(filenames.get(i), getProcessedFileDiff(processedFileDiffs.get(i)));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private FileDiffCache.Entry retrieveFileDiff(
+      GerritChange change, String revision, int revisionBase, String filename) throws Exception {
+    if (revision == null) {
+      return fetchFileDiff(change, null, revisionBase, filename);
+    }
+    // The diff of a file of a given revision never changes, so it is shared across the events
+    FileDiffCache.Key key =
+        new FileDiffCache.Key(
+            change.getProjectName(),
+            revision,
+            revisionBase,
+            filename,
+            config.getAiFullFileReview());
+    return fileDiffCache.get(key, () -> fetchFileDiff(change, revision, revisionBase, filename));
+  }
+
+  private FileDiffCache.Entry fetchFileDiff(
+      GerritChange change, String revision, int revisionBase, String filename) throws Exception {
+    DiffInfo diff = gerritChangeDataLoader.getFileDiff(change, revision, filename, revisionBase);
+    FileDiffCache.Entry processedFileDiff = processFileDiff(filename, diff);
+    log.debug("Processed file diff for file: {}", filename);
+    return processedFileDiff;
+  }
+
+  private static FileDiffCache.Entry getProcessedFileDiff(Future<FileDiffCache.Entry> future)
+      throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
       }
+      throw e;
     }
   }
 
+  private void addFileDiff(String filename, FileDiffCache.Entry processedFileDiff) {
+    fileDiffsProcessed.put(filename, processedFileDiff.fileDiffProcessed());
+    diffs.add(processedFileDiff.reviewFileDiff());
+  }
+
+  private static boolean isCommitMessage(String filename) {
+    return filename.equals("/COMMIT_MSG");
+  }
+
   private boolean isChangeSetBased(ChangeSetData changeSetData) {
     return !changeSetData.getForcedReviewLastPatchSet();
   }
 
-  private void processFileDiff(String filename, DiffInfo diff) {
+  private FileDiffCache.Entry processFileDiff(String filename, DiffInfo diff) {
     log.debug("Processing file diff for filename: {}", filename);
 
     GerritPatchSetFileDiff gerritPatchSetFileDiff = new GerritPatchSetFileDiff();
@@ -136,11 +199,11 @@ public class GerritClientPatchSet extends GerritClientAccount {
         new GerritReviewFileDiff(
             gerritPatchSetFileDiff.getMetaA(), gerritPatchSetFileDiff.getMetaB());
     FileDiffProcessed fileDiffProcessed =
-        new FileDiffProcessed(config, isCommitMessage, gerritPatchSetFileDiff);
-    fileDiffsProcessed.put(filename, fileDiffProcessed);
+        new FileDiffProcessed(config, isCommitMessage(filename), gerritPatchSetFileDiff);
     gerritReviewFileDiff.setContent(fileDiffProcessed.getReviewDiffContent());
-    diffs.add(getNoEscapedGson().toJson(gerritReviewFileDiff));
     log.debug("Completed processing for file: {}", filename);
+    return new FileDiffCache.Entry(
+        fileDiffProcessed, getNoEscapedGson().toJson(gerritReviewFileDiff));
   }
 
   protected static GerritFileDiff.Meta toMeta(DiffInfo.FileMeta input) {
@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -88,4 +89,24 @@ public class GerritClientPatchSetHelper {
     log.debug("Total files extracted from patch: {}", files.size());
     return files;
   }
+
+  public static String filterPatchFiles(String formattedPatch, Set<String> filenames) {
+    // Keep the heading with the commit message and the diff sections of the given files only
+    Matcher extractFilenameMatcher = EXTRACT_B_FILENAMES_FROM_PATCH_SET.matcher(formattedPatch);
+    StringBuilder result = new StringBuilder();
+    int sectionStart = 0;
+    boolean keepSection = true;
+    while (extractFilenameMatcher.find()) {
+      if (keepSection) {
+        result.append(formattedPatch, sectionStart, extractFilenameMatcher.start());
+      }
+      sectionStart = extractFilenameMatcher.start();
+      keepSection = filenames.contains(extractFilenameMatcher.group(1));
+    }
+    if (keepSection) {
+      result.append(formattedPatch.substring(sectionStart));
+    }
+    log.debug("Patch filtered to files {}: {}", filenames, result);
+    return result.toString();
+  }
 }
@@ -17,15 +17,12 @@
 package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Strings;
 import com.google.gerrit.extensions.api.changes.NotifyHandling;
 import com.google.gerrit.extensions.client.Comment;
 import com.google.gerrit.entities.LabelId;
 import com.google.gerrit.extensions.api.changes.ReviewInput;
 import com.google.gerrit.extensions.api.changes.ReviewInput.CommentInput;
-import com.google.gerrit.extensions.api.changes.ReviewResult;
 import com.google.gerrit.server.account.AccountCache;
-import com.google.gerrit.server.util.ManualRequestContext;
 import com.google.inject.Inject;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.config.dynamic.DynamicConfigManager;
@@ -35,6 +32,8 @@ import com.googlesource.gerrit.plugins.reviewai.localization.Localizer;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.messages.debug.DebugCodeBlocksDynamicConfiguration;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ChangeSetData;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.review.ReviewBatch;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -52,53 +51,78 @@ public class GerritClientReview extends GerritClientAccount {
   private final Localizer localizer;
   private final DebugCodeBlocksDynamicConfiguration debugCodeBlocksDynamicConfiguration;
   private final ErrorMessageHandler errorMessageHandler;
+  private final ReviewPublisher reviewPublisher;
 
   private GerritChange change;
 
-  @VisibleForTesting
   @Inject
-  public GerritClientReview(
+  GerritClientReview(
       Configuration config,
       AccountCache accountCache,
       PluginDataHandlerProvider pluginDataHandlerProvider,
-      Localizer localizer) {
+      Localizer localizer,
+      ReviewPublisher reviewPublisher) {
     super(config, accountCache);
     this.pluginDataHandlerProvider = pluginDataHandlerProvider;
     this.localizer = localizer;
+    this.reviewPublisher = reviewPublisher;
     debugCodeBlocksDynamicConfiguration = new DebugCodeBlocksDynamicConfiguration(localizer);
     errorMessageHandler = new ErrorMessageHandler(config, localizer);
     log.debug("GerritClientReview initialized.");
   }
 
+  @VisibleForTesting
+  public GerritClientReview(
+      Configuration config,
+      AccountCache accountCache,
+      PluginDataHandlerProvider pluginDataHandlerProvider,
+      Localizer localizer) {
+    this(
+        config,
+        accountCache,
+        pluginDataHandlerProvider,
+        localizer,
+        new ReviewPublisher(Runnable::run));
+  }
+
   public void setReview(
       GerritChange change,
       List<ReviewBatch> reviewBatches,
       ChangeSetData changeSetData,
       Integer reviewScore)
       throws Exception {
+    setReview(change, reviewBatches, changeSetData, reviewScore, () -> {});
+  }
+
+  /** Sets the review, calling {@code onPublished} once it is written or if it has no content. */
+  public void setReview(
+      GerritChange change,
+      List<ReviewBatch> reviewBatches,
+      ChangeSetData changeSetData,
+      Integer reviewScore,
+      Runnable onPublished)
+      throws Exception {
     log.debug("Setting review for change ID: {}", change.getFullChangeId());
+    // A review completed after its deadline or outdated by the Change is dropped
+    ReviewDeadline.check();
+    ReviewCancellation.check();
     this.change = change;
     ReviewInput reviewInput = buildReview(reviewBatches, changeSetData, reviewScore);
     if (reviewInput.comments == null && reviewInput.message == null) {
       log.debug("No comments or messages to post for review.");
+      onPublished.run();
       return;
     }
-    try (ManualRequestContext requestContext = config.openRequestContext()) {
-      ReviewResult result =
-          config
-              .getGerritApi()
-              .changes()
-              .id(
-                  change.getProjectName(),
-                  change.getBranchNameKey().shortName(),
-                  change.getChangeKey().get())
-              .current()
-              .review(reviewInput);
-
-      if (!Strings.isNullOrEmpty(result.error)) {
-        log.error("Review setting failed with status code: {}", result.error);
-      }
-    }
+    // Replies to comments are posted on the current Patch Set whatever the Patch Set commented
+    Integer patchSetNumber =
+        change.getIsCommentEvent()
+            ? null
+            : change
+                .getPatchSetAttribute()
+                .map(patchSet -> patchSet.number)
+                .filter(number -> number > 0)
+                .orElse(null);
+    reviewPublisher.publish(config, change, patchSetNumber, reviewInput, onPublished);
   }
 
   public void setReview(
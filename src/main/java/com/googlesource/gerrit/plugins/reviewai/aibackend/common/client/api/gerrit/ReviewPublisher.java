@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.api.changes.ChangeApi;
+import com.google.gerrit.extensions.api.changes.ReviewInput;
+import com.google.gerrit.extensions.api.changes.ReviewResult;
+import com.google.gerrit.extensions.client.ChangeKind;
+import com.google.gerrit.extensions.client.ChangeStatus;
+import com.google.gerrit.extensions.client.ListChangesOption;
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.google.gerrit.extensions.common.RevisionInfo;
+import com.google.gerrit.extensions.restapi.ResourceNotFoundException;
+import com.google.gerrit.git.LockFailureException;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.gerrit.server.util.ManualRequestContext;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.listener.ChangeTaskSerializer;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewPublication;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Posts the finished reviews to Gerrit from a pool of its own, so that the AI worker threads move
+ * on to the next review instead of waiting on the NoteDb writes. The reviews of a Change are posted
+ * in order, and the writes failing on a NoteDb lock conflict are retried. The review task handing
+ * the review over is notified once it is written, so that its event stays pending until then.
+ */
+@Singleton
+@Slf4j
+public class ReviewPublisher {
+  private static final String KEY_PUBLISHER_POOL_SIZE = "publisherPoolSize";
+  private static final int DEFAULT_PUBLISHER_POOL_SIZE = 1;
+  private static final int MAX_ATTEMPTS = 5;
+  private static final long RETRY_DELAY_MS = 200;
+  // Patch Sets that leave the code of the previous one unchanged, so that its review still applies
+  private static final Set<ChangeKind> TRIVIAL_CHANGE_KINDS =
+      Set.of(
+          ChangeKind.TRIVIAL_REBASE,
+          ChangeKind.TRIVIAL_REBASE_WITH_MESSAGE_UPDATE,
+          ChangeKind.MERGE_FIRST_PARENT_UPDATE,
+          ChangeKind.NO_CODE_CHANGE,
+          ChangeKind.NO_CHANGE);
+  // Patch Sets that leave the files of the previous one unchanged, keeping the comments anchored
+  private static final Set<ChangeKind> UNCHANGED_CODE_KINDS =
+      Set.of(ChangeKind.NO_CODE_CHANGE, ChangeKind.NO_CHANGE);
+
+  private final Executor executor;
+  private final ChangeTaskSerializer changeTaskSerializer;
+
+  // A dropped review is settled like a published one, but none of its content reached the Change
+  private enum PublishResult {
+    PUBLISHED,
+    DROPPED,
+    FAILED
+  }
+
+  @Inject
+  ReviewPublisher(
+      WorkQueue workQueue, @PluginName String pluginName, PluginConfigFactory pluginConfigFactory) {
+    this(
+        workQueue.createQueue(
+            pluginConfigFactory
+                .getFromGerritConfig(pluginName)
+                .getInt(KEY_PUBLISHER_POOL_SIZE, DEFAULT_PUBLISHER_POOL_SIZE),
+            "AI review publisher"));
+  }
+
+  public ReviewPublisher(Executor executor) {
+    this.executor = executor;
+    this.changeTaskSerializer = new ChangeTaskSerializer(executor);
+  }
+
+  /**
+   * Queues the review for publishing. When the reviewed Patch Set is known and is no longer the
+   * current one, the review is moved to the current Patch Set if the newer ones only rebased it and
+   * it has no inline comments to re-anchor, otherwise it is dropped. Reviews of Changes that are
+   * abandoned, deleted or whose review was cancelled in the meantime are dropped as well.
+   */
+  public void publish(
+      Configuration config, GerritChange change, Integer patchSetNumber, ReviewInput reviewInput) {
+    publish(config, change, patchSetNumber, reviewInput, () -> {});
+  }
+
+  /** Queues the review for publishing, calling {@code onPublished} once it is written. */
+  public void publish(
+      Configuration config,
+      GerritChange change,
+      Integer patchSetNumber,
+      ReviewInput reviewInput,
+      Runnable onPublished) {
+    String fullChangeId = change.getFullChangeId();
+    CompletableFuture<Boolean> publication = ReviewPublication.register();
+    ReviewCancellation cancellation = ReviewCancellation.getCurrent();
+    changeTaskSerializer.submit(
+        fullChangeId,
+        () -> {
+          try {
+            executor.execute(
+                () -> {
+                  PublishResult result = PublishResult.FAILED;
+                  try {
+                    result =
+                        publishWithRetries(
+                            config, change, patchSetNumber, reviewInput, cancellation);
+                    if (result == PublishResult.PUBLISHED) {
+                      onPublished.run();
+                    }
+                  } catch (RuntimeException e) {
+                    log.error("Failed to complete the review of change {}", fullChangeId, e);
+                  } finally {
+                    changeTaskSerializer.release(fullChangeId);
+                    publication.complete(result != PublishResult.FAILED);
+                  }
+                });
+          } catch (RejectedExecutionException e) {
+            log.error("Review publisher rejected the review of change {}", fullChangeId, e);
+            changeTaskSerializer.release(fullChangeId);
+            publication.complete(false);
+          }
+        });
+  }
+
+  private PublishResult publishWithRetries(
+      Configuration config,
+      GerritChange change,
+      Integer patchSetNumber,
+      ReviewInput reviewInput,
+      ReviewCancellation cancellation) {
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      if (cancellation != null && cancellation.isCancelled()) {
+        log.info("Review of change {} dropped as cancelled", change.getFullChangeId());
+        return PublishResult.DROPPED;
+      }
+      try (ManualRequestContext requestContext = config.openRequestContext()) {
+        ChangeApi changeApi =
+            config
+                .getGerritApi()
+                .changes()
+                .id(
+                    change.getProjectName(),
+                    change.getBranchNameKey().shortName(),
+                    change.getChangeKey().get());
+        ChangeInfo changeInfo = changeApi.get(ListChangesOption.ALL_REVISIONS);
+        if (changeInfo != null && changeInfo.status == ChangeStatus.ABANDONED) {
+          log.info("Review of change {} dropped as abandoned", change.getFullChangeId());
+          return PublishResult.DROPPED;
+        }
+        if (patchSetNumber != null && !canMoveToCurrent(changeInfo, patchSetNumber, reviewInput)) {
+          log.info(
+              "Review of Patch Set {} of change {} dropped as outdated by a newer Patch Set",
+              patchSetNumber,
+              change.getFullChangeId());
+          return PublishResult.DROPPED;
+        }
+        ReviewResult result = changeApi.current().review(reviewInput);
+        if (!Strings.isNullOrEmpty(result.error)) {
+          log.error("Review setting failed with status code: {}", result.error);
+          return PublishResult.DROPPED;
+        }
+        return PublishResult.PUBLISHED;
+      } catch (ResourceNotFoundException e) {
+        log.info("Review of change {} dropped as deleted", change.getFullChangeId());
+        return PublishResult.DROPPED;
+      } catch (Exception e) {
+        if (attempt == MAX_ATTEMPTS || !isLockFailure(e)) {
+          log.error("Failed to publish review of change {}", change.getFullChangeId(), e);
+          return PublishResult.FAILED;
+        }
+        log.debug(
+            "NoteDb lock failure publishing review of change {}, attempt {} of {}",
+            change.getFullChangeId(),
+            attempt,
+            MAX_ATTEMPTS);
+      }
+      try {
+        Thread.sleep(RETRY_DELAY_MS * attempt);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("Publishing of review of change {} interrupted", change.getFullChangeId());
+        return PublishResult.FAILED;
+      }
+    }
+    return PublishResult.FAILED;
+  }
+
+  /**
+   * Whether the review still applies to the current Patch Set. The inline comments are anchored to
+   * lines of the reviewed Patch Set, so they are only moved when the newer Patch Sets left the code
+   * unchanged, while a rebase may have shifted the lines.
+   */
+  private static boolean canMoveToCurrent(
+      ChangeInfo changeInfo, int patchSetNumber, ReviewInput reviewInput) {
+    if (changeInfo == null || changeInfo.revisions == null) {
+      return true;
+    }
+    boolean hasInlineComments = reviewInput.comments != null && !reviewInput.comments.isEmpty();
+    for (RevisionInfo revision : changeInfo.revisions.values()) {
+      if (revision._number > patchSetNumber
+          && !(hasInlineComments
+              ? UNCHANGED_CODE_KINDS.contains(revision.kind)
+              : TRIVIAL_CHANGE_KINDS.contains(revision.kind))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isLockFailure(Exception e) {
+    return Throwables.getCausalChain(e).stream().anyMatch(LockFailureException.class::isInstance);
+  }
+}
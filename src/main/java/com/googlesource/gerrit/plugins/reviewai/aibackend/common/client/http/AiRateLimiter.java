@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets limiting the requests and the tokens sent per minute to a provider model. The
+ * buckets refill continuously, and are realigned with the remaining quota reported by the provider
+ * when available. A limit of 0 disables the corresponding bucket until the provider reports one.
+ */
+@Slf4j
+public class AiRateLimiter {
+  private static final long REFILL_PERIOD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final String name;
+  private final LongSupplier nanoClock;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition refilled = lock.newCondition();
+  private final Bucket requestBucket = new Bucket();
+  private final Bucket tokenBucket = new Bucket();
+  private long pausedUntilNanos;
+
+  private class Bucket {
+    private long configuredLimit;
+    private long reportedLimit;
+    private double available;
+    private long lastRefillNanos;
+
+    private long getLimit() {
+      return configuredLimit > 0 ? configuredLimit : reportedLimit;
+    }
+
+    private void refill(long now) {
+      long limit = getLimit();
+      if (limit > 0) {
+        double refilledAmount = (double) (now - lastRefillNanos) * limit / REFILL_PERIOD_NANOS;
+        available = Math.min(limit, available + refilledAmount);
+      }
+      lastRefillNanos = now;
+    }
+
+    private long getWaitNanos(long amount) {
+      long limit = getLimit();
+      if (limit <= 0 || available >= Math.min(amount, limit)) {
+        return 0;
+      }
+      return (long) Math.ceil((Math.min(amount, limit) - available) * REFILL_PERIOD_NANOS / limit);
+    }
+
+    private void consume(long amount) {
+      if (getLimit() > 0) {
+        available -= Math.min(amount, getLimit());
+      }
+    }
+
+    private void update(long limit, long remaining, long now) {
+      refill(now);
+      if (limit > 0) {
+        if (reportedLimit == 0 && configuredLimit == 0) {
+          available = limit;
+        }
+        reportedLimit = limit;
+      }
+      if (remaining >= 0 && getLimit() > 0) {
+        available = Math.min(remaining, getLimit());
+      }
+    }
+  }
+
+  public AiRateLimiter(String name, long requestsPerMinute, long tokensPerMinute) {
+    this(name, requestsPerMinute, tokensPerMinute, System::nanoTime);
+  }
+
+  AiRateLimiter(String name, long requestsPerMinute, long tokensPerMinute, LongSupplier nanoClock) {
+    this.name = name;
+    this.nanoClock = nanoClock;
+    pausedUntilNanos = nanoClock.getAsLong();
+    setLimits(requestsPerMinute, tokensPerMinute);
+  }
+
+  public void setLimits(long requestsPerMinute, long tokensPerMinute) {
+    lock.lock();
+    try {
+      setLimit(requestBucket, requestsPerMinute);
+      setLimit(tokenBucket, tokensPerMinute);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Waits until both a request and the estimated tokens are available, then consumes them. */
+  public void acquire(long tokens) throws InterruptedException {
+    acquire(tokens, Long.MAX_VALUE);
+  }
+
+  /**
+   * Same as {@link #acquire(long)}, giving up when admission would take longer than the timeout.
+   */
+  public boolean acquire(long tokens, long timeoutMillis) throws InterruptedException {
+    long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    lock.lock();
+    try {
+      long start = nanoClock.getAsLong();
+      boolean waited = false;
+      while (true) {
+        long now = nanoClock.getAsLong();
+        requestBucket.refill(now);
+        tokenBucket.refill(now);
+        long waitNanos =
+            Math.max(
+                pausedUntilNanos - now,
+                Math.max(requestBucket.getWaitNanos(1), tokenBucket.getWaitNanos(tokens)));
+        if (waitNanos <= 0) {
+          requestBucket.consume(1);
+          tokenBucket.consume(tokens);
+          return true;
+        }
+        if (waitNanos > timeoutNanos - (now - start)) {
+          log.debug("Admission to {} would exceed the timeout of {} ms", name, timeoutMillis);
+          return false;
+        }
+        if (!waited) {
+          log.debug(
+              "Waiting {} ms for admission of {} tokens to {}",
+              TimeUnit.NANOSECONDS.toMillis(waitNanos),
+              tokens,
+              name);
+          waited = true;
+        }
+        refilled.awaitNanos(waitNanos);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Realigns the buckets with the limits and remaining quota reported by the provider. */
+  public void update(
+      long requestLimit, long remainingRequests, long tokenLimit, long remainingTokens) {
+    lock.lock();
+    try {
+      long now = nanoClock.getAsLong();
+      requestBucket.update(requestLimit, remainingRequests, now);
+      tokenBucket.update(tokenLimit, remainingTokens, now);
+      refilled.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Adjusts the tokens consumed by a request once its actual usage is known. */
+  public void reconcileTokens(long estimatedTokens, long actualTokens) {
+    lock.lock();
+    try {
+      if (tokenBucket.getLimit() <= 0) {
+        return;
+      }
+      tokenBucket.refill(nanoClock.getAsLong());
+      tokenBucket.available =
+          Math.min(tokenBucket.getLimit(), tokenBucket.available + estimatedTokens - actualTokens);
+      refilled.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Holds back every request until the provider accepts requests again. */
+  public void pause(long durationMs) {
+    lock.lock();
+    try {
+      log.info("Requests to {} rate limited, pausing for {} ms", name, durationMs);
+      long pauseEndNanos = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+      pausedUntilNanos = Math.max(pausedUntilNanos, pauseEndNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void setLimit(Bucket bucket, long limit) {
+    if (bucket.configuredLimit == Math.max(limit, 0)) {
+      return;
+    }
+    bucket.refill(nanoClock.getAsLong());
+    long previousLimit = bucket.getLimit();
+    bucket.configuredLimit = Math.max(limit, 0);
+    // The bucket is shared by the projects using the model, so the tokens they already consumed
+    // are kept when one of them sets a different limit
+    bucket.available =
+        previousLimit > 0
+            ? Math.min(bucket.available, bucket.getLimit())
+            : bucket.getLimit();
+  }
+}
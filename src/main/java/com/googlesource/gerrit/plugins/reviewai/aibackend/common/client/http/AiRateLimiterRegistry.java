@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http;
+
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.AiBackends;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class AiRateLimiterRegistry {
+  // Rate limiters are shared by all the clients of a provider model, whatever project they serve
+  private static final Map<String, AiRateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+  public static AiRateLimiter get(Configuration config) {
+    String provider =
+        config.getAiBackend() == AiBackends.LANGCHAIN
+            ? config.getLcProvider().name()
+            : config.getAiBackend().name();
+    String name = String.join("/", provider, config.getAiDomain(), config.getAiModel());
+    long requestsPerMinute = config.getAiRequestsPerMinute();
+    long tokensPerMinute = config.getAiTokensPerMinute();
+    AiRateLimiter rateLimiter =
+        RATE_LIMITERS.computeIfAbsent(
+            name,
+            key -> {
+              log.debug(
+                  "Creating rate limiter for {} with {} requests and {} tokens per minute",
+                  key,
+                  requestsPerMinute,
+                  tokensPerMinute);
+              return new AiRateLimiter(key, requestsPerMinute, tokensPerMinute);
+            });
+    rateLimiter.setLimits(requestsPerMinute, tokensPerMinute);
+    return rateLimiter;
+  }
+}
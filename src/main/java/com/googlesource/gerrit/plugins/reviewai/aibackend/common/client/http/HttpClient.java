@@ -18,6 +18,10 @@ package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http;
 
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.AiConnectionFailException;
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewCancelledException;
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewDeadlineExceededException;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 
@@ -29,6 +33,10 @@ import static com.googlesource.gerrit.plugins.reviewai.utils.GsonUtils.getGson;
 
 @Slf4j
 public class HttpClient {
+  // Clients derived from a shared one reuse its connection pool and dispatcher, so that the
+  // connections to the AI provider survive the requests of a single review
+  private static final OkHttpClient SHARED_CLIENT = new OkHttpClient();
+
   private final OkHttpClient client;
   private final String bearer;
   private final String domain;
@@ -40,17 +48,48 @@ public class HttpClient {
     HttpRetryInterceptor httpRetryInterceptor =
         new HttpRetryInterceptor(
             config.getAiConnectionMaxRetryAttempts(), config.getAiConnectionRetryInterval());
+    HttpRateLimitInterceptor httpRateLimitInterceptor =
+        new HttpRateLimitInterceptor(AiRateLimiterRegistry.get(config));
     this.client =
-        new OkHttpClient.Builder()
+        SHARED_CLIENT
+            .newBuilder()
             .addInterceptor(httpRetryInterceptor)
+            .addInterceptor(httpRateLimitInterceptor)
             .connectTimeout(connectionTimeout, TimeUnit.SECONDS)
             .readTimeout(connectionTimeout, TimeUnit.SECONDS)
             .writeTimeout(connectionTimeout, TimeUnit.SECONDS)
             .build();
   }
 
+  /**
+   * Opens a pooled connection to the AI domain, so that the first review does not pay for the TLS
+   * handshake. The status of the response is irrelevant.
+   */
+  public static void warmUp(Configuration config) throws IOException {
+    int connectionTimeout = config.getAiConnectionTimeout();
+    OkHttpClient warmUpClient =
+        SHARED_CLIENT
+            .newBuilder()
+            .connectTimeout(connectionTimeout, TimeUnit.SECONDS)
+            .readTimeout(connectionTimeout, TimeUnit.SECONDS)
+            .build();
+    Request request = new Request.Builder().url(config.getAiDomain()).head().build();
+    try (Response response = warmUpClient.newCall(request).execute()) {
+      log.debug("Connection to {} warmed up with status {}", request.url(), response.code());
+    }
+  }
+
   public String execute(Request request) throws AiConnectionFailException {
-    try (Response response = client.newCall(request).execute()) {
+    ReviewDeadline.check();
+    ReviewCancellation.check();
+    Call call = client.newCall(request);
+    if (ReviewDeadline.isSet()) {
+      // A timeout of 0 disables it, so a deadline reached since the check still fails the call
+      call.timeout()
+          .timeout(Math.max(1, ReviewDeadline.getRemainingMillis()), TimeUnit.MILLISECONDS);
+    }
+    Runnable removeCancelHook = ReviewCancellation.onCancel(call::cancel);
+    try (Response response = call.execute()) {
       if (!response.isSuccessful()) {
         log.error("HTTP request failed with status code: {}", response.code());
         throw new IOException("Unexpected code " + response);
@@ -64,8 +103,18 @@ public class HttpClient {
         log.error("Request {} returned an empty response body", request);
       }
     } catch (IOException e) {
+      if (ReviewDeadline.isExpired()) {
+        log.warn("HTTP request to {} aborted by the review deadline", request.url());
+        throw new ReviewDeadlineExceededException();
+      }
+      if (ReviewCancellation.isCurrentCancelled()) {
+        log.info("HTTP request to {} aborted by the review cancellation", request.url());
+        throw new ReviewCancelledException();
+      }
       log.error("HTTP request execution failed for request URL: {}", request.url(), e);
       throw new AiConnectionFailException(e);
+    } finally {
+      removeCancelHook.run();
     }
     return null;
   }
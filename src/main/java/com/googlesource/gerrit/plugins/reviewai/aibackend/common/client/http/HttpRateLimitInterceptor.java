@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http;
+
+import com.googlesource.gerrit.plugins.reviewai.aibackend.langchain.provider.FallbackTokenCountEstimator;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewTokenUsage;
+import dev.langchain4j.model.TokenCountEstimator;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+
+import java.io.IOException;
+
+@Slf4j
+public class HttpRateLimitInterceptor implements Interceptor {
+  public static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+  private static final long DEFAULT_RATE_LIMIT_PAUSE_MS = 1000;
+  private static final String JSON_MEDIA_SUBTYPE = "json";
+  private static final String HEADER_RETRY_AFTER = "retry-after";
+  private static final String HEADER_RETRY_AFTER_MS = "retry-after-ms";
+  private static final String HEADER_LIMIT_REQUESTS = "x-ratelimit-limit-requests";
+  private static final String HEADER_REMAINING_REQUESTS = "x-ratelimit-remaining-requests";
+  private static final String HEADER_LIMIT_TOKENS = "x-ratelimit-limit-tokens";
+  private static final String HEADER_REMAINING_TOKENS = "x-ratelimit-remaining-tokens";
+
+  private final AiRateLimiter rateLimiter;
+  private final TokenCountEstimator tokenCountEstimator;
+
+  public HttpRateLimitInterceptor(AiRateLimiter rateLimiter) {
+    this(rateLimiter, TokenCountEstimatorHolder.INSTANCE);
+  }
+
+  HttpRateLimitInterceptor(AiRateLimiter rateLimiter, TokenCountEstimator tokenCountEstimator) {
+    this.rateLimiter = rateLimiter;
+    this.tokenCountEstimator = tokenCountEstimator;
+  }
+
+  @Override
+  public @NonNull Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    long estimatedTokens = estimateTokens(request.body());
+    try {
+      if (!rateLimiter.acquire(estimatedTokens, ReviewDeadline.getRemainingMillis())) {
+        throw new IOException("Review deadline exceeded while waiting for rate limit admission");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for rate limit admission", e);
+    }
+    Response response = chain.proceed(request);
+    ReviewTokenUsage.record(estimatedTokens);
+    rateLimiter.update(
+        getLongHeader(response, HEADER_LIMIT_REQUESTS),
+        getLongHeader(response, HEADER_REMAINING_REQUESTS),
+        getLongHeader(response, HEADER_LIMIT_TOKENS),
+        getLongHeader(response, HEADER_REMAINING_TOKENS));
+    if (response.code() == HTTP_TOO_MANY_REQUESTS) {
+      rateLimiter.pause(getRetryAfterMs(response));
+    }
+    return response;
+  }
+
+  private long estimateTokens(RequestBody body) throws IOException {
+    // Only JSON bodies carry prompts, uploaded files are not charged as tokens by the providers
+    if (body == null || !isJson(body.contentType())) {
+      return 0;
+    }
+    Buffer buffer = new Buffer();
+    body.writeTo(buffer);
+    return tokenCountEstimator.estimateTokenCountInText(buffer.readUtf8());
+  }
+
+  private static boolean isJson(MediaType mediaType) {
+    return mediaType != null && JSON_MEDIA_SUBTYPE.equals(mediaType.subtype());
+  }
+
+  private static long getRetryAfterMs(Response response) {
+    long retryAfterMs = getLongHeader(response, HEADER_RETRY_AFTER_MS);
+    if (retryAfterMs >= 0) {
+      return retryAfterMs;
+    }
+    long retryAfterSeconds = getLongHeader(response, HEADER_RETRY_AFTER);
+    if (retryAfterSeconds >= 0) {
+      return retryAfterSeconds * 1000;
+    }
+    return DEFAULT_RATE_LIMIT_PAUSE_MS;
+  }
+
+  private static long getLongHeader(Response response, String name) {
+    String value = response.header(name);
+    if (value == null) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      log.debug("Ignoring non-numeric header {}: {}", name, value);
+      return -1;
+    }
+  }
+
+  // Loaded on first use since the tokenizer encoding takes a while to initialize
+  private static class TokenCountEstimatorHolder {
+    private static final TokenCountEstimator INSTANCE = new FallbackTokenCountEstimator();
+  }
+}
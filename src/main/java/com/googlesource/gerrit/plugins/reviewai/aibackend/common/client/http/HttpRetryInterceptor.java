@@ -16,6 +16,8 @@
 
 package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http;
 
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Interceptor;
@@ -45,6 +47,15 @@ public class HttpRetryInterceptor implements Interceptor {
         response = chain.proceed(request);
         if (response.isSuccessful()) {
           return response;
+        } else if (response.code() == HttpRateLimitInterceptor.HTTP_TOO_MANY_REQUESTS) {
+          response.close();
+          if (!canRetry(retryIndex)) {
+            break;
+          }
+          // The rate limiter holds the next attempt back until the provider accepts it again
+          log.warn("Retry because the request was rate limited");
+          retryIndex++;
+          continue;
         } else {
           log.error(
               "Retry because HTTP status code is not 200. The status code is: {}", response.code());
@@ -54,7 +65,7 @@ public class HttpRetryInterceptor implements Interceptor {
         log.error("Retry failed with exception: {}", e.getMessage());
       }
 
-      if (retryIndex >= maxRetries) {
+      if (!canRetry(retryIndex) || ReviewDeadline.getRemainingMillis() <= retryInterval) {
         break;
       }
       try {
@@ -72,4 +83,8 @@ public class HttpRetryInterceptor implements Interceptor {
       throw new IOException("Unexpected response code " + response.code());
     }
   }
+
+  private boolean canRetry(int retryIndex) {
+    return retryIndex < maxRetries && !ReviewCancellation.isCurrentCancelled();
+  }
 }
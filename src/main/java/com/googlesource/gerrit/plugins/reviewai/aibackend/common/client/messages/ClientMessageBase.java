@@ -28,17 +28,17 @@ public abstract class ClientMessageBase extends ClientBase {
 
   public ClientMessageBase(Configuration config) {
     super(config);
-    botMentionPattern = getBotMentionPattern();
+    botMentionPattern = getBotMentionPattern(config);
     log.debug("ClientMessageBase initialized with bot mention pattern: {}", botMentionPattern);
   }
 
-  private Pattern getBotMentionPattern() {
-    String emailRegex = "^(?!>).*?(?:@" + getUserNameOrEmail() + ")\\b";
+  public static Pattern getBotMentionPattern(Configuration config) {
+    String emailRegex = "^(?!>).*?(?:@" + getUserNameOrEmail(config) + ")\\b";
     log.debug("Generated bot mention pattern: {}", emailRegex);
     return Pattern.compile(emailRegex, Pattern.MULTILINE);
   }
 
-  private String getUserNameOrEmail() {
+  private static String getUserNameOrEmail(Configuration config) {
     String escapedUserName = Pattern.quote(config.getGerritUserName());
     String userEmail = config.getGerritUserEmail();
     if (userEmail.isBlank()) {
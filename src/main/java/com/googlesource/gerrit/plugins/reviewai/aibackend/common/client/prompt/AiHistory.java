@@ -28,11 +28,20 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 public class AiHistory extends AiComment {
+  private static final Comparator<GerritComment> BY_DATE_UPDATED =
+      (GerritComment o1, GerritComment o2) -> {
+        String dateTime1 = o1.getUpdated();
+        String dateTime2 = o2.getUpdated();
+        if (dateTime1 == null && dateTime2 == null) return 0;
+        if (dateTime1 == null) return 1;
+        if (dateTime2 == null) return -1;
+
+        return dateTime1.compareTo(dateTime2);
+      };
+
   private final Set<String> messagesExcludedFromHistory;
   @Getter private final HashMap<String, GerritComment> commentMap;
   private final HashMap<String, GerritComment> patchSetCommentMap;
@@ -53,7 +62,7 @@ public class AiHistory extends AiComment {
         Set.of(Settings.GERRIT_DEFAULT_MESSAGE_DONE, localizer.getText("message.empty.review"));
     commentMap = commentData.getCommentMap();
     patchSetCommentMap = commentData.getPatchSetCommentMap();
-    patchSetComments = retrievePatchSetComments(gerritClientData);
+    patchSetComments = retrievePatchSetComments(gerritClientData, commentData);
     revisionBase = gerritClientData.getOneBasedRevisionBase();
     patchSetCommentAdded = new HashSet<>();
     log.debug("AiHistory initialized with comments and revision base: {}", revisionBase);
@@ -75,31 +84,35 @@ public class AiHistory extends AiComment {
     return retrieveHistory(commentProperty, false);
   }
 
-  private List<GerritComment> retrievePatchSetComments(GerritClientData gerritClientData) {
-    List<GerritComment> detailComments = gerritClientData.getDetailComments();
+  private List<GerritComment> retrievePatchSetComments(
+      GerritClientData gerritClientData, CommentData commentData) {
+    List<GerritComment> detailComments = new ArrayList<>(gerritClientData.getDetailComments());
     // Normalize detailComments by setting the `update` field to match `date`
     detailComments.forEach(record -> record.setUpdated(record.getDate()));
-    // Join the comments from patchSetCommentMap with detailComments
+    detailComments.sort(BY_DATE_UPDATED);
+    // Merge the Patch Set comments, already sorted by update datetime, with detailComments
     List<GerritComment> patchSetComments =
-        Stream.concat(patchSetCommentMap.values().stream(), detailComments.stream())
-            .collect(Collectors.toList());
-    sortPatchSetComments(patchSetComments);
+        mergeSorted(commentData.getPatchSetComments(), detailComments);
     log.debug("Patch set comments sorted by update datetime: {}", patchSetComments);
     return patchSetComments;
   }
 
-  private void sortPatchSetComments(List<GerritComment> patchSetComments) {
-    Comparator<GerritComment> byDateUpdated =
-        (GerritComment o1, GerritComment o2) -> {
-          String dateTime1 = o1.getUpdated();
-          String dateTime2 = o2.getUpdated();
-          if (dateTime1 == null && dateTime2 == null) return 0;
-          if (dateTime1 == null) return 1;
-          if (dateTime2 == null) return -1;
-
-          return dateTime1.compareTo(dateTime2);
-        };
-    patchSetComments.sort(byDateUpdated);
+  private static List<GerritComment> mergeSorted(
+      List<GerritComment> first, List<GerritComment> second) {
+    List<GerritComment> merged = new ArrayList<>(first.size() + second.size());
+    int i = 0;
+    int j = 0;
+    while (i < first.size() && j < second.size()) {
+      // On equal datetimes, the comments of the first list come first
+      if (BY_DATE_UPDATED.compare(second.get(j), first.get(i)) < 0) {
+        merged.add(second.get(j++));
+      } else {
+        merged.add(first.get(i++));
+      }
+    }
+    merged.addAll(first.subList(i, first.size()));
+    merged.addAll(second.subList(j, second.size()));
+    return merged;
   }
 
   private String getRoleFromComment(GerritComment currentComment) {
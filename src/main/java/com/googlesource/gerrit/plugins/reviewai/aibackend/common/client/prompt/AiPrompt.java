@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.googlesource.gerrit.plugins.reviewai.utils.GsonUtils.getGson;
@@ -67,6 +68,17 @@ public class AiPrompt {
   public static String DEFAULT_AI_HOW_TO_FIND_COMMIT_MESSAGE;
   public static Map<String, String> DEFAULT_AI_REPLIES_ATTRIBUTES;
 
+  private static final List<String> PROMPT_FILENAMES =
+      List.of(
+          "prompts",
+          "promptsOpenAi",
+          "promptsOpenAiReview",
+          "promptsOpenAiReviewCommitMessage",
+          "promptsOpenAiRequests");
+  // Prompt files are bundled with the plugin, so they are parsed only once
+  private static final Map<String, Map<String, Object>> JSON_PROMPT_VALUES =
+      new ConcurrentHashMap<>();
+
   protected final Configuration config;
 
   @Setter protected boolean isCommentEvent;
@@ -94,10 +106,20 @@ public class AiPrompt {
                 DEFAULT_AI_REVIEW_PROMPT_INSTRUCTIONS_COMMIT_MESSAGES)));
   }
 
+  public static void preloadPrompts() {
+    PROMPT_FILENAMES.forEach(AiPrompt::getJsonPromptValues);
+  }
+
   public static Map<String, Object> getJsonPromptValues(String promptFilename) {
+    return JSON_PROMPT_VALUES.computeIfAbsent(promptFilename, AiPrompt::loadJsonPromptValues);
+  }
+
+  private static Map<String, Object> loadJsonPromptValues(String promptFilename) {
     String promptFile = String.format("config/%s.json", promptFilename);
     try (InputStreamReader reader = FileUtils.getInputStreamReader(promptFile)) {
-      return getGson().fromJson(reader, new TypeToken<Map<String, Object>>() {}.getType());
+      Map<String, Object> values =
+          getGson().fromJson(reader, new TypeToken<Map<String, Object>>() {}.getType());
+      return Collections.unmodifiableMap(values);
     } catch (IOException e) {
       log.error("Failed to load prompts from file: {}", promptFilename, e);
       throw new RuntimeException("Failed to load prompts", e);
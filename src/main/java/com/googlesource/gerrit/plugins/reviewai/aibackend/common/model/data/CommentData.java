@@ -29,4 +29,5 @@ public class CommentData {
   private List<GerritComment> commentProperties;
   private HashMap<String, GerritComment> commentMap;
   private HashMap<String, GerritComment> patchSetCommentMap;
+  private List<GerritComment> patchSetComments;
 }
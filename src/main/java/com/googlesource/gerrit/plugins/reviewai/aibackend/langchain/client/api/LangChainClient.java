@@ -17,7 +17,7 @@
 package com.googlesource.gerrit.plugins.reviewai.aibackend.langchain.client.api;
 
 import com.google.inject.Inject;
-import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventScoped;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.ai.AiClientBase;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClient;
@@ -51,7 +51,7 @@ import static com.googlesource.gerrit.plugins.reviewai.utils.JsonTextUtils.isJso
 import static com.googlesource.gerrit.plugins.reviewai.utils.JsonTextUtils.unwrapJsonCode;
 
 @Slf4j
-@Singleton
+@GerritEventScoped
 public class LangChainClient extends AiClientBase implements IAiClient {
 
   private static final String FORMAT_REPLIES_SCHEMA_RESOURCE = "config/formatRepliesTool.json";
@@ -86,10 +86,22 @@ public class LangChainClient extends AiClientBase implements IAiClient {
       contextTool =
           new LangChainToolSpecificationFactory(GET_CONTEXT_TOOL_RESOURCE).loadToolSpecification();
     }
-    this.toolExecutor = new LangChainToolExecutor(config, structuredResponseFormat, contextTool);
+    this.toolExecutor =
+        new LangChainToolExecutor(
+            config, structuredResponseFormat, contextTool, tokenEstimatorProvider);
     log.debug("Initialized LangChainClient");
   }
 
+  /**
+   * Initializes the token estimator shared by the clients of the provider and loads the classes of
+   * its chat model ahead of the first review.
+   */
+  public static void warmUp(Configuration config) {
+    new LangChainTokenEstimatorProvider(config).get();
+    LangChainProviderFactory.get(config.getLcProvider())
+        .buildChatModel(config, Double.parseDouble(config.getAiReviewTemperature()));
+  }
+
   @Override
   public AiResponseContent ask(ChangeSetData changeSetData, GerritChange change, String patchSet)
       throws Exception {
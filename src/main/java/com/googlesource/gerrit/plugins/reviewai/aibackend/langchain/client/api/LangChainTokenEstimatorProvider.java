@@ -23,8 +23,11 @@ import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.langchain.p
 import com.googlesource.gerrit.plugins.reviewai.settings.Settings.LangChainProviders;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.model.TokenCountEstimator;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -34,8 +37,19 @@ class LangChainTokenEstimatorProvider {
   private static final TokenCountEstimator APPROXIMATE_ESTIMATOR =
       new ApproximateTokenCountEstimator();
 
+  // Estimators are shared by the clients with the same provider settings, since some of them call
+  // the provider with its credentials; the approximate fallback of a failed initialization is not
+  // shared
+  private static final Map<EstimatorKey, TokenCountEstimator> SHARED_ESTIMATORS =
+      new ConcurrentHashMap<>();
+  // Lock instead of synchronized so that waiting for the estimator does not pin virtual threads
+  private static final ReentrantLock INITIALIZATION_LOCK = new ReentrantLock();
+
   private final Configuration config;
 
+  private record EstimatorKey(
+      LangChainProviders provider, String domain, String model, String token) {}
+
   private volatile TokenCountEstimator cachedEstimator;
 
   LangChainTokenEstimatorProvider(Configuration config) {
@@ -47,17 +61,28 @@ class LangChainTokenEstimatorProvider {
     if (current != null) {
       return current;
     }
-    synchronized (this) {
-      if (cachedEstimator != null) {
-        return cachedEstimator;
+    LangChainProviders provider = config.getLcProvider();
+    EstimatorKey estimatorKey =
+        new EstimatorKey(provider, config.getAiDomain(), config.getAiModel(), config.getAiToken());
+    current = SHARED_ESTIMATORS.get(estimatorKey);
+    if (current != null) {
+      cachedEstimator = current;
+      return current;
+    }
+    INITIALIZATION_LOCK.lock();
+    try {
+      current = SHARED_ESTIMATORS.get(estimatorKey);
+      if (current != null) {
+        cachedEstimator = current;
+        return current;
       }
-      LangChainProviders provider = config.getLcProvider();
       try {
         log.info(
             "Initializing {} token estimator for model {}", provider, config.getAiModel());
         TokenCountEstimator estimator =
             CompletableFuture.supplyAsync(() -> createEstimator(provider))
                 .get(TOKEN_ESTIMATOR_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        SHARED_ESTIMATORS.put(estimatorKey, estimator);
         cachedEstimator = estimator;
         log.info("Initialized {} token estimator for model {}", provider, config.getAiModel());
       } catch (Exception e) {
@@ -69,6 +94,8 @@ class LangChainTokenEstimatorProvider {
         cachedEstimator = APPROXIMATE_ESTIMATOR;
       }
       return cachedEstimator;
+    } finally {
+      INITIALIZATION_LOCK.unlock();
     }
   }
 
@@ -19,14 +19,22 @@ package com.googlesource.gerrit.plugins.reviewai.aibackend.langchain.client.api;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.git.GitRepoFiles;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.code.context.ondemand.CodeContextBuilder;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http.AiRateLimiter;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http.AiRateLimiterRegistry;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.code.context.ondemand.GetContextContent;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.AiConnectionFailException;
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewDeadlineExceededException;
 import com.googlesource.gerrit.plugins.reviewai.utils.GsonUtils;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewTokenUsage;
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.exception.RateLimitException;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
@@ -45,14 +53,18 @@ class LangChainToolExecutor {
 
   private static final Set<String> ON_DEMAND_FUNCTION_NAMES = Set.of("get_context");
   private static final int MAX_TOOL_EXECUTION_ROUNDS = 1;
+  private static final int MAX_RATE_LIMITED_RETRIES = 10;
+  private static final long RATE_LIMIT_PAUSE_MS = 1000;
 
   private final Configuration config;
   private final ResponseFormat structuredResponseFormat;
   private final ToolSpecification getContextTool;
+  private final LangChainTokenEstimatorProvider tokenEstimatorProvider;
 
-  AiMessage execute(ChatModel model, GerritChange change, ChatMemory memory) {
+  AiMessage execute(ChatModel model, GerritChange change, ChatMemory memory)
+      throws InterruptedException, AiConnectionFailException {
     ChatRequest initialRequest = buildChatRequest(memory.messages());
-    ChatResponse response = model.chat(initialRequest);
+    ChatResponse response = chat(model, initialRequest);
     AiMessage aiMessage = response != null ? response.aiMessage() : null;
 
     int iteration = 0;
@@ -69,13 +81,46 @@ class LangChainToolExecutor {
         String output = executeToolRequest(request, change);
         memory.add(ToolExecutionResultMessage.from(request, output));
       }
-      response = model.chat(buildChatRequest(memory.messages()));
+      response = chat(model, buildChatRequest(memory.messages()));
       aiMessage = response != null ? response.aiMessage() : null;
     }
 
     return aiMessage;
   }
 
+  private ChatResponse chat(ChatModel model, ChatRequest request)
+      throws InterruptedException, AiConnectionFailException {
+    AiRateLimiter rateLimiter = AiRateLimiterRegistry.get(config);
+    long estimatedTokens =
+        tokenEstimatorProvider.get().estimateTokenCountInMessages(request.messages());
+    int rateLimitedRetries = 0;
+    while (true) {
+      ReviewDeadline.check();
+      ReviewCancellation.check();
+      if (!rateLimiter.acquire(estimatedTokens, ReviewDeadline.getRemainingMillis())) {
+        throw new ReviewDeadlineExceededException();
+      }
+      try {
+        ChatResponse response = model.chat(request);
+        if (response != null
+            && response.tokenUsage() != null
+            && response.tokenUsage().totalTokenCount() != null) {
+          rateLimiter.reconcileTokens(estimatedTokens, response.tokenUsage().totalTokenCount());
+          ReviewTokenUsage.record(response.tokenUsage().totalTokenCount());
+        } else {
+          ReviewTokenUsage.record(estimatedTokens);
+        }
+        return response;
+      } catch (RateLimitException e) {
+        if (++rateLimitedRetries > MAX_RATE_LIMITED_RETRIES) {
+          throw e;
+        }
+        log.warn("LangChain request rate limited, waiting for admission to retry");
+        rateLimiter.pause(RATE_LIMIT_PAUSE_MS);
+      }
+    }
+  }
+
   private ChatRequest buildChatRequest(List<ChatMessage> messages) {
     ChatRequest.Builder requestBuilder = ChatRequest.builder().messages(messages);
 
@@ -18,12 +18,14 @@ package com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.ger
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.gerrit.server.account.AccountCache;
-import com.google.gerrit.server.util.ManualRequestContext;
 import com.google.inject.Inject;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.common.client.api.gerrit.IGerritClientPatchSet;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ChangeSetData;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.DiffRetrievalLimiter;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.FileDiffCache;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChangeDataLoader;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientPatchSet;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,8 +38,13 @@ public class GerritClientPatchSetOpenAi extends GerritClientPatchSet
 
   @VisibleForTesting
   @Inject
-  public GerritClientPatchSetOpenAi(Configuration config, AccountCache accountCache) {
-    super(config, accountCache);
+  public GerritClientPatchSetOpenAi(
+      Configuration config,
+      AccountCache accountCache,
+      GerritChangeDataLoader gerritChangeDataLoader,
+      FileDiffCache fileDiffCache,
+      DiffRetrievalLimiter diffRetrievalLimiter) {
+    super(config, accountCache, gerritChangeDataLoader, fileDiffCache, diffRetrievalLimiter);
   }
 
   public String getPatchSet(ChangeSetData changeSetData, GerritChange change) throws Exception {
@@ -56,22 +63,10 @@ public class GerritClientPatchSetOpenAi extends GerritClientPatchSet
   }
 
   private String getPatchFromGerrit() throws Exception {
-    try (ManualRequestContext requestContext = config.openRequestContext()) {
-      String formattedPatch =
-          config
-              .getGerritApi()
-              .changes()
-              .id(
-                  change.getProjectName(),
-                  change.getBranchNameKey().shortName(),
-                  change.getChangeKey().get())
-              .current()
-              .patch()
-              .asString();
-      log.debug("Formatted Patch retrieved: {}", formattedPatch);
+    String formattedPatch = gerritChangeDataLoader.getPatch(change);
+    log.debug("Formatted Patch retrieved: {}", formattedPatch);
 
-      return filterPatch(formattedPatch);
-    }
+    return filterPatch(formattedPatch);
   }
 
   private String filterPatch(String formattedPatch) {
@@ -19,7 +19,7 @@ package com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.ope
 import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.JsonSyntaxException;
 import com.google.inject.Inject;
-import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventScoped;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerProvider;
 import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.AiConnectionFailException;
@@ -38,7 +38,7 @@ import static com.googlesource.gerrit.plugins.reviewai.utils.JsonTextUtils.isJso
 import static com.googlesource.gerrit.plugins.reviewai.utils.JsonTextUtils.unwrapJsonCode;
 
 @Slf4j
-@Singleton
+@GerritEventScoped
 public class OpenAiClient extends OpenAiClientBase implements IAiClient {
   public enum ReviewAssistantStages {
     REVIEW_CODE,
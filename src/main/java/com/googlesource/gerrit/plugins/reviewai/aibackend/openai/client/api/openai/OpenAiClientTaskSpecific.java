@@ -18,7 +18,7 @@ package com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.ope
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
-import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventScoped;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerProvider;
 import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.AiConnectionFailException;
@@ -34,7 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
-@Singleton
+@GerritEventScoped
 public class OpenAiClientTaskSpecific extends OpenAiClient implements IAiClient {
   private static final List<ReviewAssistantStages> TASK_SPECIFIC_ASSISTANT_STAGES =
       List.of(ReviewAssistantStages.REVIEW_CODE, ReviewAssistantStages.REVIEW_COMMIT_MESSAGE);
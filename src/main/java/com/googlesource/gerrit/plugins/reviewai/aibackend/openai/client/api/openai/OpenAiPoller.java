@@ -19,6 +19,7 @@ package com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.ope
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.AiConnectionFailException;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.openai.model.api.openai.OpenAiRunResponse;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import com.googlesource.gerrit.plugins.reviewai.utils.TimeUtils;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -28,7 +29,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
-import static com.googlesource.gerrit.plugins.reviewai.utils.ThreadUtils.threadSleep;
 
 @Slf4j
 public class OpenAiPoller extends OpenAiApiBase {
@@ -61,7 +61,7 @@ public class OpenAiPoller extends OpenAiApiBase {
     while (isPending(pollResponse.getStatus())) {
       pollingCount++;
       log.debug("Polling request #{}", pollingCount);
-      threadSleep(pollingInterval);
+      ReviewDeadline.sleep(pollingInterval);
       Request pollRequest = httpClient.createRequestFromJson(uri, null);
       log.debug("OpenAI Poll request: {}", pollRequest);
       pollResponse = getOpenAiResponse(pollRequest);
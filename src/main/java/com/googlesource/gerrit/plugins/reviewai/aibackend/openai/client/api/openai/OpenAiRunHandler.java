@@ -20,18 +20,21 @@ import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.api.ai.Ai
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerProvider;
 import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.AiConnectionFailException;
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewCancelledException;
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewDeadlineExceededException;
 import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.common.client.code.context.ICodeContextPolicy;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ChangeSetData;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.OpenAiUriResourceLocator;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.openai.endpoint.OpenAiRun;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.openai.model.api.openai.*;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Request;
 
 import java.util.List;
 
-import static com.googlesource.gerrit.plugins.reviewai.utils.ThreadUtils.threadSleep;
 
 @Slf4j
 public class OpenAiRunHandler extends OpenAiApiBase {
@@ -74,9 +77,22 @@ public class OpenAiRunHandler extends OpenAiApiBase {
   }
 
   public void pollRunStep() throws AiConnectionFailException {
+    // A cancelled review also stops the run, rather than leaving it to complete on the AI side
+    String runId = runResponse.getId();
+    Runnable removeCancelHook = ReviewCancellation.onCancel(() -> openAiRun.cancelRun(runId));
+    try {
+      pollRunStepUntilCompleted();
+    } finally {
+      removeCancelHook.run();
+    }
+  }
+
+  private void pollRunStepUntilCompleted() throws AiConnectionFailException {
     AiConnectionFailException exception = null;
     codeContextPolicy.setupRunAction(openAiRun);
     for (int retries = 0; retries < MAX_STEP_RETRIEVAL_RETRIES; retries++) {
+      ReviewDeadline.check();
+      ReviewCancellation.check();
       runResponse =
           openAiPoller.runPoll(
               OpenAiUriResourceLocator.runRetrieveUri(threadId, runResponse.getId()), runResponse);
@@ -87,10 +103,12 @@ public class OpenAiRunHandler extends OpenAiApiBase {
       log.debug("OpenAI Retrieve Run Steps request: {}", stepsRequest);
       try {
         stepResponse = getOpenAiResponse(stepsRequest, OpenAiListResponse.class);
+      } catch (ReviewDeadlineExceededException | ReviewCancelledException e) {
+        throw e;
       } catch (AiConnectionFailException e) {
         exception = e;
         log.warn("Error retrieving run steps from OpenAI: {}", e.getMessage());
-        threadSleep(STEP_RETRIEVAL_INTERVAL);
+        ReviewDeadline.sleep(STEP_RETRIEVAL_INTERVAL);
         continue;
       }
       log.debug("OpenAI Response: {}", clientResponse);
@@ -101,7 +119,7 @@ public class OpenAiRunHandler extends OpenAiApiBase {
           stepResponse);
       if (stepResponse.getData().isEmpty()) {
         log.warn("Empty response from OpenAI");
-        threadSleep(STEP_RETRIEVAL_INTERVAL);
+        ReviewDeadline.sleep(STEP_RETRIEVAL_INTERVAL);
         continue;
       }
       return;
@@ -16,6 +16,7 @@
 
 package com.googlesource.gerrit.plugins.reviewai.config;
 
+import com.google.common.collect.Multimap;
 import com.google.gerrit.entities.Account;
 import com.google.gerrit.entities.Change;
 import com.google.gerrit.entities.Project;
@@ -23,6 +24,10 @@ import com.google.gerrit.extensions.annotations.PluginName;
 import com.google.gerrit.server.account.AccountCache;
 import com.google.gerrit.server.account.AccountState;
 import com.google.gerrit.extensions.api.GerritApi;
+import com.google.gerrit.server.config.ConfigUpdatedEvent;
+import com.google.gerrit.server.config.ConfigUpdatedEvent.ConfigUpdateEntry;
+import com.google.gerrit.server.config.ConfigUpdatedEvent.UpdateResult;
+import com.google.gerrit.server.config.GerritConfigListener;
 import com.google.gerrit.server.config.PluginConfig;
 import com.google.gerrit.server.config.PluginConfigFactory;
 import com.google.gerrit.server.project.NoSuchProjectException;
@@ -38,6 +43,7 @@ import org.eclipse.jgit.lib.Config;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.googlesource.gerrit.plugins.reviewai.config.entry.ConfigEntryFactory.getConfigEntry;
 import static com.googlesource.gerrit.plugins.reviewai.config.dynamic.DynamicConfigManager.KEY_DYNAMIC_CONFIG;
@@ -45,7 +51,9 @@ import static com.googlesource.gerrit.plugins.reviewai.utils.CollectionUtils.put
 
 @Singleton
 @Slf4j
-public class ConfigCreator {
+public class ConfigCreator implements GerritConfigListener {
+  private static final String PLUGIN_SECTION = "plugin";
+
   private final String pluginName;
 
   private final AccountCache accountCache;
@@ -55,6 +63,14 @@ public class ConfigCreator {
   private final GerritApi gerritApi;
   private final PluginDataHandlerBaseProvider pluginDataHandlerBaseProvider;
 
+  // Snapshots of the configuration sources, reused by all events until invalidated
+  private final Map<Project.NameKey, PluginConfig> projectConfigSnapshots =
+      new ConcurrentHashMap<>();
+  private volatile GlobalConfigSnapshot globalConfigSnapshot;
+
+  private record GlobalConfigSnapshot(
+      PluginConfig globalConfig, String email, Account.Id accountId) {}
+
   @Inject
   ConfigCreator(
       @PluginName String pluginName,
@@ -75,10 +91,7 @@ public class ConfigCreator {
   public Configuration createConfig(Project.NameKey projectName, Change.Key changeKey)
       throws NoSuchProjectException {
     log.debug("Creating configuration for project: {} and change: {}", projectName, changeKey);
-    PluginConfig globalConfig = configFactory.getFromGerritConfig(pluginName);
-    log.debug("Global configuration loaded with items: {}", globalConfig.getNames());
-    PluginConfig projectConfig = configFactory.getFromProjectConfig(projectName, pluginName);
-    log.debug("Project configuration loaded with items: {}", projectConfig.getNames());
+    PluginConfig projectConfig = getProjectConfigSnapshot(projectName);
     // `PluginDataHandlerProvider` cannot be injected because `GerritChange` is not initialized at
     // this stage:
     // instead of using `PluginDataHandlerProvider.getChangeScope`,
@@ -91,6 +104,50 @@ public class ConfigCreator {
       log.info("DynamicConfig found for change '{}': {}", changeKey, dynamicConfig);
       projectConfig = updateDynamicConfig(projectConfig, pluginName, dynamicConfig);
     }
+    return createConfig(projectConfig);
+  }
+
+  /** Creates the configuration of a project, regardless of the dynamic settings of its changes. */
+  public Configuration createConfig(Project.NameKey projectName) throws NoSuchProjectException {
+    log.debug("Creating configuration for project: {}", projectName);
+    return createConfig(getProjectConfigSnapshot(projectName));
+  }
+
+  private Configuration createConfig(PluginConfig projectConfig) {
+    GlobalConfigSnapshot globalSnapshot = getGlobalConfigSnapshot();
+    return new Configuration(
+        context,
+        gerritApi,
+        globalSnapshot.globalConfig(),
+        projectConfig,
+        globalSnapshot.email(),
+        globalSnapshot.accountId());
+  }
+
+  public void invalidateProjectConfig(Project.NameKey projectName) {
+    if (projectConfigSnapshots.remove(projectName) != null) {
+      log.debug("Project configuration snapshot invalidated for project: {}", projectName);
+    }
+  }
+
+  @Override
+  public Multimap<UpdateResult, ConfigUpdateEntry> configUpdated(ConfigUpdatedEvent event) {
+    if (!event.isSectionUpdated(PLUGIN_SECTION)) {
+      return ConfigUpdatedEvent.NO_UPDATES;
+    }
+    log.debug("Global configuration updated, invalidating configuration snapshots");
+    globalConfigSnapshot = null;
+    projectConfigSnapshots.clear();
+    return event.accept(PLUGIN_SECTION);
+  }
+
+  private GlobalConfigSnapshot getGlobalConfigSnapshot() {
+    GlobalConfigSnapshot snapshot = globalConfigSnapshot;
+    if (snapshot != null) {
+      return snapshot;
+    }
+    PluginConfig globalConfig = configFactory.getFromGerritConfig(pluginName);
+    log.debug("Global configuration loaded with items: {}", globalConfig.getNames());
     Optional<AccountState> aiAccount = getAccount(globalConfig);
     String email = aiAccount.map(a -> a.account().preferredEmail()).orElse("");
     Account.Id accountId =
@@ -102,7 +159,29 @@ public class ConfigCreator {
                         String.format(
                             "Given account %s doesn't exist",
                             globalConfig.getString(Configuration.KEY_GERRIT_USERNAME))));
-    return new Configuration(context, gerritApi, globalConfig, projectConfig, email, accountId);
+    snapshot = new GlobalConfigSnapshot(globalConfig, email, accountId);
+    globalConfigSnapshot = snapshot;
+    return snapshot;
+  }
+
+  private PluginConfig getProjectConfigSnapshot(Project.NameKey projectName)
+      throws NoSuchProjectException {
+    try {
+      // Loading within `computeIfAbsent` prevents a concurrent invalidation from being overwritten
+      return projectConfigSnapshots.computeIfAbsent(
+          projectName,
+          key -> {
+            try {
+              PluginConfig projectConfig = configFactory.getFromProjectConfig(key, pluginName);
+              log.debug("Project configuration loaded with items: {}", projectConfig.getNames());
+              return projectConfig;
+            } catch (NoSuchProjectException e) {
+              throw new ProjectConfigLoadException(e);
+            }
+          });
+    } catch (ProjectConfigLoadException e) {
+      throw (NoSuchProjectException) e.getCause();
+    }
   }
 
   private Optional<AccountState> getAccount(PluginConfig globalConfig) {
@@ -148,4 +227,10 @@ public class ConfigCreator {
     }
     return configUpdater;
   }
+
+  private static class ProjectConfigLoadException extends RuntimeException {
+    private ProjectConfigLoadException(NoSuchProjectException cause) {
+      super(cause);
+    }
+  }
 }
@@ -50,6 +50,7 @@ public class Configuration extends ConfigCore {
   private static final boolean DEFAULT_REVIEW_PATCH_SET = true;
   private static final boolean DEFAULT_REVIEW_COMMIT_MESSAGES = true;
   private static final boolean DEFAULT_FULL_FILE_REVIEW = true;
+  private static final boolean DEFAULT_INCREMENTAL_REVIEW = false;
   private static final String DEFAULT_CODE_CONTEXT_POLICY = "UPLOAD_ALL";
   private static final String DEFAULT_CODE_CONTEXT_ON_DEMAND_BASE_PATH = "";
   private static final boolean DEFAULT_GLOBAL_ENABLE = false;
@@ -87,11 +88,15 @@ public class Configuration extends ConfigCore {
   private static final int DEFAULT_AI_CONNECTION_TIMEOUT = 30;
   private static final int DEFAULT_AI_CONNECTION_RETRY_INTERVAL = 10;
   private static final int DEFAULT_AI_CONNECTION_MAX_RETRY_ATTEMPTS = 2;
+  private static final int DEFAULT_AI_REQUESTS_PER_MINUTE = 0;
+  private static final int DEFAULT_REVIEW_TIMEOUT = 900;
+  private static final int DEFAULT_AI_TOKENS_PER_MINUTE = 0;
   private static final int DEFAULT_AI_POLLING_TIMEOUT = 180;
   private static final int DEFAULT_AI_POLLING_INTERVAL = 1000;
   private static final int DEFAULT_AI_UPLOADED_CHUNK_SIZE_MB = 5;
   private static final int DEFAULT_LC_MAX_MEMORY_TOKENS = 16384;
   private static final boolean DEFAULT_ENABLE_MESSAGE_DEBUGGING = false;
+  private static final int DEFAULT_PROJECT_REVIEW_WEIGHT = 1;
   private static final List<String> DEFAULT_SELECTIVE_LOG_LEVEL_OVERRIDE = new ArrayList<>();
 
   // Config setting keys
@@ -116,6 +121,7 @@ public class Configuration extends ConfigCore {
   private static final String KEY_REVIEW_COMMIT_MESSAGES = "aiReviewCommitMessages";
   private static final String KEY_REVIEW_PATCH_SET = "aiReviewPatchSet";
   private static final String KEY_FULL_FILE_REVIEW = "aiFullFileReview";
+  private static final String KEY_INCREMENTAL_REVIEW = "aiIncrementalReview";
   private static final String KEY_CODE_CONTEXT_POLICY = "codeContextPolicy";
   private static final String KEY_CODE_CONTEXT_ON_DEMAND_BASE_PATH = "codeContextOnDemandBasePath";
   private static final String KEY_PROJECT_ENABLE = "isEnabled";
@@ -146,10 +152,14 @@ public class Configuration extends ConfigCore {
   private static final String KEY_AI_CONNECTION_TIMEOUT = "aiConnectionTimeout";
   private static final String KEY_AI_CONNECTION_RETRY_INTERVAL = "aiConnectionRetryInterval";
   private static final String KEY_AI_CONNECTION_MAX_RETRY_ATTEMPTS = "aiConnectionMaxRetryAttempts";
+  private static final String KEY_AI_REQUESTS_PER_MINUTE = "aiRequestsPerMinute";
+  private static final String KEY_AI_TOKENS_PER_MINUTE = "aiTokensPerMinute";
+  private static final String KEY_REVIEW_TIMEOUT = "reviewTimeout";
   private static final String KEY_AI_POLLING_TIMEOUT = "aiPollingTimeout";
   private static final String KEY_AI_POLLING_INTERVAL = "aiPollingInterval";
   private static final String KEY_AI_UPLOADED_CHUNK_SIZE_MB = "aiUploadedChunkSizeMb";
   private static final String KEY_ENABLE_MESSAGE_DEBUGGING = "enableMessageDebugging";
+  private static final String KEY_PROJECT_REVIEW_WEIGHT = "projectReviewWeight";
 
   public Configuration(
       OneOffRequestContext context,
@@ -230,6 +240,10 @@ public class Configuration extends ConfigCore {
     return getBoolean(KEY_FULL_FILE_REVIEW, DEFAULT_FULL_FILE_REVIEW);
   }
 
+  public boolean getAiIncrementalReview() {
+    return getBoolean(KEY_INCREMENTAL_REVIEW, DEFAULT_INCREMENTAL_REVIEW);
+  }
+
   public CodeContextPolicies getCodeContextPolicy() {
     return getEnum(KEY_CODE_CONTEXT_POLICY, DEFAULT_CODE_CONTEXT_POLICY, CodeContextPolicies.class);
   }
@@ -365,6 +379,18 @@ public class Configuration extends ConfigCore {
     return getInt(KEY_AI_CONNECTION_MAX_RETRY_ATTEMPTS, DEFAULT_AI_CONNECTION_MAX_RETRY_ATTEMPTS);
   }
 
+  public int getAiRequestsPerMinute() {
+    return getInt(KEY_AI_REQUESTS_PER_MINUTE, DEFAULT_AI_REQUESTS_PER_MINUTE);
+  }
+
+  public int getAiTokensPerMinute() {
+    return getInt(KEY_AI_TOKENS_PER_MINUTE, DEFAULT_AI_TOKENS_PER_MINUTE);
+  }
+
+  public int getReviewTimeout() {
+    return getInt(KEY_REVIEW_TIMEOUT, DEFAULT_REVIEW_TIMEOUT);
+  }
+
   public int getAiPollingTimeout() {
     return getInt(KEY_AI_POLLING_TIMEOUT, DEFAULT_AI_POLLING_TIMEOUT);
   }
@@ -381,6 +407,10 @@ public class Configuration extends ConfigCore {
     return getBoolean(KEY_ENABLE_MESSAGE_DEBUGGING, DEFAULT_ENABLE_MESSAGE_DEBUGGING);
   }
 
+  public int getProjectReviewWeight() {
+    return Math.max(1, getInt(KEY_PROJECT_REVIEW_WEIGHT, DEFAULT_PROJECT_REVIEW_WEIGHT));
+  }
+
   public boolean getIgnoreOutdatedInlineComments() {
     return getBoolean(KEY_IGNORE_OUTDATED_INLINE_COMMENTS, DEFAULT_IGNORE_OUTDATED_INLINE_COMMENTS);
   }
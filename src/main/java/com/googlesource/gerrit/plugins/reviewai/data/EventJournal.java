@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.data;
+
+import com.google.gerrit.extensions.annotations.PluginData;
+import com.google.gerrit.server.events.Event;
+import com.google.gerrit.server.events.EventGson;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of the events queued for processing. An event is appended before being
+ * queued and marked as done once processed, so that events still pending after a restart can be
+ * replayed. Appending and completing only record the entry in memory: entries are written and
+ * flushed to disk by {@link #sync()}, which is meant to be called periodically from a single thread
+ * rather than on each event.
+ */
+@Singleton
+@Slf4j
+public class EventJournal {
+  private static final String JOURNAL_FILENAME = "events.journal";
+  private static final int COMPACTION_THRESHOLD = 1000;
+
+  private final Path journalFile;
+  private final Gson eventGson;
+  private final boolean enabled;
+  // Guards the in-memory state only, so that appending never waits for the disk
+  private final ReentrantLock lock = new ReentrantLock();
+  // Serializes the writes to the journal file, which are done without holding `lock`
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final Map<String, Event> pendingEvents = new LinkedHashMap<>();
+  private final Map<String, Event> recoveredEvents = new LinkedHashMap<>();
+
+  private List<UnwrittenEntry> unwrittenEntries = new ArrayList<>();
+  private FileChannel channel;
+  private int completedSinceCompaction;
+
+  // The event is kept as a JSON tree, since serializing it as an `Event` field would only retain
+  // the fields of the base class
+  private static class JournalEntry {
+    private final String id;
+    private final JsonElement event;
+
+    private JournalEntry(String id, JsonElement event) {
+      this.id = id;
+      this.event = event;
+    }
+  }
+
+  // Entry not written to the journal file yet, with a null event marking a completion
+  private record UnwrittenEntry(String id, Event event) {}
+
+  @Inject
+  public EventJournal(@PluginData Path pluginDataPath, @EventGson Gson eventGson) {
+    this.journalFile = pluginDataPath.resolve(JOURNAL_FILENAME);
+    this.eventGson = eventGson;
+    this.enabled = open();
+    log.debug(
+        "EventJournal initialized at {} with {} pending events", journalFile, pendingEvents.size());
+  }
+
+  public Map<String, Event> getRecoveredEvents() {
+    lock.lock();
+    try {
+      return new LinkedHashMap<>(recoveredEvents);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public String append(Event event) {
+    String id = UUID.randomUUID().toString();
+    if (!enabled) {
+      return id;
+    }
+    lock.lock();
+    try {
+      pendingEvents.put(id, event);
+      unwrittenEntries.add(new UnwrittenEntry(id, event));
+    } finally {
+      lock.unlock();
+    }
+    return id;
+  }
+
+  public void complete(String id) {
+    if (!enabled) {
+      return;
+    }
+    lock.lock();
+    try {
+      recoveredEvents.remove(id);
+      if (pendingEvents.remove(id) == null) {
+        return;
+      }
+      unwrittenEntries.add(new UnwrittenEntry(id, null));
+      completedSinceCompaction++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void sync() {
+    if (!enabled) {
+      return;
+    }
+    writeLock.lock();
+    try {
+      if (channel != null) {
+        flush();
+      }
+    } catch (IOException e) {
+      log.error("Failed to sync event journal", e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  public void close() {
+    if (!enabled) {
+      return;
+    }
+    writeLock.lock();
+    try {
+      if (channel != null) {
+        flush();
+        channel.close();
+        channel = null;
+      }
+    } catch (IOException e) {
+      log.error("Failed to close event journal", e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private boolean open() {
+    try {
+      recover();
+      compact(new LinkedHashMap<>(pendingEvents));
+      return true;
+    } catch (IOException e) {
+      // Events are still processed, they are only not replayed after a restart
+      log.error("Failed to open event journal {}, journaling disabled", journalFile, e);
+      pendingEvents.clear();
+      recoveredEvents.clear();
+      return false;
+    }
+  }
+
+  private void recover() throws IOException {
+    if (Files.notExists(journalFile)) {
+      return;
+    }
+    List<String> lines = Files.readAllLines(journalFile, StandardCharsets.UTF_8);
+    for (String line : lines) {
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        JournalEntry entry = eventGson.fromJson(line, JournalEntry.class);
+        if (entry.event == null) {
+          pendingEvents.remove(entry.id);
+          recoveredEvents.remove(entry.id);
+        } else {
+          Event event = eventGson.fromJson(entry.event, Event.class);
+          pendingEvents.put(entry.id, event);
+          recoveredEvents.put(entry.id, event);
+        }
+      } catch (JsonParseException e) {
+        // The last line may be truncated by a crash while it was being written
+        log.warn("Skipping unreadable event journal entry: {}", line, e);
+      }
+    }
+    log.info("Recovered {} pending events from journal {}", recoveredEvents.size(), journalFile);
+  }
+
+  // Takes the entries to write under `lock`, then writes and forces them to disk without it
+  private void flush() throws IOException {
+    List<UnwrittenEntry> entries;
+    Map<String, Event> compactedEvents = null;
+    lock.lock();
+    try {
+      entries = unwrittenEntries;
+      unwrittenEntries = new ArrayList<>();
+      if (completedSinceCompaction >= COMPACTION_THRESHOLD) {
+        // The snapshot of the pending events supersedes the entries taken
+        compactedEvents = new LinkedHashMap<>(pendingEvents);
+        completedSinceCompaction = 0;
+      }
+    } finally {
+      lock.unlock();
+    }
+    try {
+      if (compactedEvents != null) {
+        compact(compactedEvents);
+      } else if (!entries.isEmpty()) {
+        for (UnwrittenEntry entry : entries) {
+          writeLine(channel, serialize(entry.id(), entry.event()));
+        }
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      // The entries taken are lost from the file: the next sync rewrites all the pending events
+      lock.lock();
+      try {
+        completedSinceCompaction = COMPACTION_THRESHOLD;
+      } finally {
+        lock.unlock();
+      }
+      throw e;
+    }
+  }
+
+  private void compact(Map<String, Event> compactedEvents) throws IOException {
+    log.debug("Compacting event journal with {} pending events", compactedEvents.size());
+    Path compactedFile = journalFile.resolveSibling(JOURNAL_FILENAME + ".tmp");
+    try (FileChannel compactedChannel =
+        FileChannel.open(
+            compactedFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      for (Map.Entry<String, Event> compactedEvent : compactedEvents.entrySet()) {
+        writeLine(compactedChannel, serialize(compactedEvent.getKey(), compactedEvent.getValue()));
+      }
+      compactedChannel.force(false);
+    }
+    Files.move(
+        compactedFile,
+        journalFile,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    FileChannel previousChannel = channel;
+    channel = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    if (previousChannel != null) {
+      previousChannel.close();
+    }
+  }
+
+  private String serialize(String id, Event event) {
+    JsonElement serializedEvent = event == null ? null : eventGson.toJsonTree(event);
+    return eventGson.toJson(new JournalEntry(id, serializedEvent));
+  }
+
+  private static void writeLine(FileChannel fileChannel, String line) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+    while (buffer.hasRemaining()) {
+      fileChannel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.data;
+
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChangeDataLoader;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ChangeSetData;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ReviewedFile;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientPatchSetHelper.filterPatchFiles;
+
+/**
+ * Keeps the revision each file of a Change was last reviewed at, with the score it was given, so
+ * that only the files modified since then are sent to the AI, while the scores of the others are
+ * carried forward.
+ */
+@Slf4j
+public class IncrementalReviewHandler {
+  private static final String KEY_REVIEWED_FILES = "reviewedFiles";
+
+  private final Configuration config;
+  private final GerritChangeDataLoader gerritChangeDataLoader;
+  private final PluginDataHandler changeDataHandler;
+
+  private String revision;
+  private Map<String, ReviewedFile> reviewedFiles = new HashMap<>();
+  private Set<String> modifiedFiles = new LinkedHashSet<>();
+  private boolean incremental;
+
+  @Inject
+  public IncrementalReviewHandler(
+      Configuration config,
+      GerritChangeDataLoader gerritChangeDataLoader,
+      PluginDataHandlerProvider pluginDataHandlerProvider) {
+    this.config = config;
+    this.gerritChangeDataLoader = gerritChangeDataLoader;
+    changeDataHandler = pluginDataHandlerProvider.getChangeScope();
+  }
+
+  public void load(GerritChange change, ChangeSetData changeSetData, List<String> patchSetFiles) {
+    if (!config.getAiIncrementalReview() || change.getIsCommentEvent()) {
+      return;
+    }
+    modifiedFiles = new LinkedHashSet<>(patchSetFiles);
+    try {
+      revision =
+          Optional.ofNullable(gerritChangeDataLoader.getChangeInfo(change))
+              .map(changeInfo -> changeInfo.currentRevision)
+              .orElse(null);
+    } catch (Exception e) {
+      log.warn("Cannot retrieve the current revision of change {}", change.getFullChangeId(), e);
+      revision = null;
+    }
+    if (revision == null) {
+      return;
+    }
+    reviewedFiles =
+        Optional.ofNullable(
+                changeDataHandler.getJsonObjectValue(KEY_REVIEWED_FILES, ReviewedFile.class))
+            .<Map<String, ReviewedFile>>map(HashMap::new)
+            .orElseGet(HashMap::new);
+    reviewedFiles.keySet().retainAll(patchSetFiles);
+    // A review requested explicitly covers all the files
+    incremental = !changeSetData.getForcedReview() && !reviewedFiles.isEmpty();
+    if (incremental) {
+      modifiedFiles.removeAll(getUnmodifiedFiles(change));
+      log.info(
+          "Incremental review of change {} limited to the files modified since their last review:"
+              + " {}",
+          change.getFullChangeId(),
+          modifiedFiles);
+    }
+  }
+
+  /** Whether the new Patch Set only contains files not modified since their last review. */
+  public boolean isUnmodified() {
+    return incremental && modifiedFiles.isEmpty();
+  }
+
+  public String filterPatch(String patchSet) {
+    return incremental ? filterPatchFiles(patchSet, modifiedFiles) : patchSet;
+  }
+
+  /** Scores of the previous reviews of the files not modified since then. */
+  public List<Integer> getCarriedForwardScores() {
+    if (!incremental) {
+      return List.of();
+    }
+    return reviewedFiles.entrySet().stream()
+        .filter(reviewedFile -> !modifiedFiles.contains(reviewedFile.getKey()))
+        .map(reviewedFile -> reviewedFile.getValue().getScore())
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  /** Records the modified files as reviewed at the current revision with the given scores. */
+  public void save(Map<String, Integer> fileScores) {
+    if (revision == null) {
+      return;
+    }
+    for (String filename : modifiedFiles) {
+      reviewedFiles.put(filename, new ReviewedFile(revision, fileScores.get(filename)));
+    }
+    changeDataHandler.setJsonValue(KEY_REVIEWED_FILES, reviewedFiles);
+  }
+
+  private Set<String> getUnmodifiedFiles(GerritChange change) {
+    Set<String> unmodifiedFiles = new HashSet<>();
+    Map<String, Set<String>> modifiedFilesByRevision = new HashMap<>();
+    for (Map.Entry<String, ReviewedFile> reviewedFile : reviewedFiles.entrySet()) {
+      String reviewedRevision = reviewedFile.getValue().getRevision();
+      if (revision.equals(reviewedRevision)) {
+        unmodifiedFiles.add(reviewedFile.getKey());
+        continue;
+      }
+      Set<String> modifiedSinceReview =
+          modifiedFilesByRevision.computeIfAbsent(
+              reviewedRevision, baseRevision -> getModifiedFiles(change, baseRevision));
+      if (modifiedSinceReview != null && !modifiedSinceReview.contains(reviewedFile.getKey())) {
+        unmodifiedFiles.add(reviewedFile.getKey());
+      }
+    }
+    return unmodifiedFiles;
+  }
+
+  private Set<String> getModifiedFiles(GerritChange change, String baseRevision) {
+    try {
+      return gerritChangeDataLoader.getModifiedFiles(change, revision, baseRevision);
+    } catch (Exception e) {
+      // The files last reviewed at an unknown revision are reviewed again
+      log.warn(
+          "Cannot compare revision {} of change {} with {}",
+          revision,
+          change.getFullChangeId(),
+          baseRevision,
+          e);
+      return null;
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.googlesource.gerrit.plugins.reviewai.utils.GsonUtils.getGson;
 
@@ -34,6 +35,8 @@ import static com.googlesource.gerrit.plugins.reviewai.utils.GsonUtils.getGson;
 public class PluginDataHandler {
   private final Path configFile;
   private final Properties configProperties = new Properties();
+  // Lock instead of synchronized so that file I/O does not pin virtual threads
+  private final ReentrantLock lock = new ReentrantLock();
 
   @Inject
   public PluginDataHandler(Path configFilePath) {
@@ -47,13 +50,18 @@ public class PluginDataHandler {
     }
   }
 
-  public synchronized void setValue(String key, String value) {
+  public void setValue(String key, String value) {
     log.debug("Setting value for key: {} with value: {}", key, value);
-    configProperties.setProperty(key, value);
-    storeProperties();
+    lock.lock();
+    try {
+      configProperties.setProperty(key, value);
+      storeProperties();
+    } finally {
+      lock.unlock();
+    }
   }
 
-  public synchronized void setJsonValue(String key, Object value) {
+  public void setJsonValue(String key, Object value) {
     log.debug("Setting JSON value for key: {}", key);
     setValue(key, getGson().toJson(value));
   }
@@ -92,31 +100,44 @@ public class PluginDataHandler {
     return allProperties;
   }
 
-  public synchronized <T> void appendJsonValue(String key, T value, Class<T> clazz) {
+  public <T> void appendJsonValue(String key, T value, Class<T> clazz) {
     log.debug("Updating JSON value for key: {}", key);
-    List<T> jsonProperty = getJsonArrayValue(key, clazz);
-    if (jsonProperty == null) {
-      jsonProperty = new ArrayList<>();
+    lock.lock();
+    try {
+      List<T> jsonProperty = getJsonArrayValue(key, clazz);
+      if (jsonProperty == null) {
+        jsonProperty = new ArrayList<>();
+      }
+      jsonProperty.add(value);
+      setJsonValue(key, jsonProperty);
+    } finally {
+      lock.unlock();
     }
-    jsonProperty.add(value);
-    setJsonValue(key, jsonProperty);
   }
 
-  public synchronized void removeValue(String key) {
+  public void removeValue(String key) {
     log.debug("Removing value for key: {}", key);
-    if (configProperties.containsKey(key)) {
-      configProperties.remove(key);
-      storeProperties();
+    lock.lock();
+    try {
+      if (configProperties.containsKey(key)) {
+        configProperties.remove(key);
+        storeProperties();
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
-  public synchronized void destroy() {
+  public void destroy() {
     log.debug("Destroying configuration file at: {}", configFile);
+    lock.lock();
     try {
       Files.deleteIfExists(configFile);
     } catch (IOException e) {
       log.error("Failed to delete the config file: " + configFile, e);
       throw new RuntimeException("Failed to delete the config file: " + configFile, e);
+    } finally {
+      lock.unlock();
     }
   }
 
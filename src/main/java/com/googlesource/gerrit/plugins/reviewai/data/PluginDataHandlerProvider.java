@@ -18,7 +18,7 @@ package com.googlesource.gerrit.plugins.reviewai.data;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
-import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventScoped;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,7 +26,7 @@ import java.nio.file.Path;
 
 import static com.googlesource.gerrit.plugins.reviewai.utils.FileUtils.sanitizeFilename;
 
-@Singleton
+@GerritEventScoped
 @Slf4j
 public class PluginDataHandlerProvider extends PluginDataHandlerBaseProvider
     implements Provider<PluginDataHandler> {
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.common.hash.Hashing;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.extensions.annotations.PluginData;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.server.config.GerritInstanceId;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns each Change to a single node of a multi-node deployment. The owner of a Change is
+ * recorded in a lease file of a directory shared by all the nodes, and is valid as long as the
+ * owner keeps its heartbeat file up to date. When the heartbeat of the owner expires, the lease is
+ * taken over by the next node receiving an event of the Change.
+ */
+@Singleton
+@Slf4j
+public class ChangeLeaseManager implements LifecycleListener {
+  private static final String KEY_HA_PARTITIONING = "haPartitioning";
+  private static final String KEY_HA_LEASE_DIRECTORY = "haLeaseDirectory";
+  private static final String KEY_HA_LEASE_TIMEOUT = "haLeaseTimeout";
+  private static final boolean DEFAULT_HA_PARTITIONING = false;
+  private static final String DEFAULT_HA_LEASE_DIRECTORY = "leases";
+  private static final int DEFAULT_HA_LEASE_TIMEOUT = 60;
+  private static final String NODES_DIRECTORY = "nodes";
+  private static final String CHANGES_DIRECTORY = "changes";
+
+  @Getter private final boolean enabled;
+  @Getter private final String nodeId;
+  private final Path nodesDirectory;
+  private final Path changesDirectory;
+  private final long leaseTimeoutMs;
+  private final Clock clock;
+  private final WorkQueue workQueue;
+  private ScheduledFuture<?> heartbeatTask;
+
+  @Inject
+  ChangeLeaseManager(
+      @PluginName String pluginName,
+      PluginConfigFactory pluginConfigFactory,
+      @PluginData Path pluginDataPath,
+      @GerritInstanceId @Nullable String instanceId,
+      WorkQueue workQueue) {
+    this(
+        pluginConfigFactory.getFromGerritConfig(pluginName),
+        pluginDataPath,
+        instanceId,
+        workQueue);
+  }
+
+  private ChangeLeaseManager(
+      PluginConfig globalConfig,
+      Path pluginDataPath,
+      @Nullable String instanceId,
+      WorkQueue workQueue) {
+    this(
+        globalConfig.getBoolean(KEY_HA_PARTITIONING, DEFAULT_HA_PARTITIONING),
+        pluginDataPath.resolve(
+            globalConfig.getString(KEY_HA_LEASE_DIRECTORY, DEFAULT_HA_LEASE_DIRECTORY)),
+        Optional.ofNullable(instanceId).orElseGet(() -> UUID.randomUUID().toString()),
+        TimeUnit.SECONDS.toMillis(
+            globalConfig.getInt(KEY_HA_LEASE_TIMEOUT, DEFAULT_HA_LEASE_TIMEOUT)),
+        Clock.systemUTC(),
+        workQueue);
+  }
+
+  public ChangeLeaseManager(
+      boolean enabled,
+      Path leaseDirectory,
+      String nodeId,
+      long leaseTimeoutMs,
+      Clock clock,
+      WorkQueue workQueue) {
+    this.enabled = enabled;
+    this.nodeId = nodeId;
+    this.nodesDirectory = leaseDirectory.resolve(NODES_DIRECTORY);
+    this.changesDirectory = leaseDirectory.resolve(CHANGES_DIRECTORY);
+    this.leaseTimeoutMs = leaseTimeoutMs;
+    this.clock = clock;
+    this.workQueue = workQueue;
+    log.debug(
+        "ChangeLeaseManager initialized - enabled: {}, node: {}, lease directory: {}, "
+            + "timeout: {} ms",
+        enabled,
+        nodeId,
+        leaseDirectory,
+        leaseTimeoutMs);
+  }
+
+  @Override
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    heartbeat();
+    long heartbeatIntervalMs = Math.max(leaseTimeoutMs / 3, 1);
+    heartbeatTask =
+        workQueue
+            .getDefaultQueue()
+            .scheduleAtFixedRate(
+                this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (heartbeatTask != null) {
+      heartbeatTask.cancel(false);
+    }
+    if (!enabled) {
+      return;
+    }
+    // Without a heartbeat, the leases of this node can be taken over right away
+    try {
+      Files.deleteIfExists(getHeartbeatFile(nodeId));
+    } catch (IOException e) {
+      log.error("Failed to remove heartbeat of node {}", nodeId, e);
+    }
+  }
+
+  public void heartbeat() {
+    try {
+      Files.createDirectories(nodesDirectory);
+      writeAtomically(getHeartbeatFile(nodeId), String.valueOf(clock.millis()));
+    } catch (IOException e) {
+      log.error("Failed to update heartbeat of node {}", nodeId, e);
+    }
+  }
+
+  public boolean tryAcquire(GerritChange change) {
+    if (!enabled) {
+      return true;
+    }
+    String fullChangeId = change.getFullChangeId();
+    Path leaseFile = getLeaseFile(change);
+    try {
+      Files.createDirectories(changesDirectory);
+      for (int attempt = 0; attempt < 2; attempt++) {
+        try {
+          Files.writeString(
+              leaseFile, nodeId, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW);
+          log.debug("Lease on change {} acquired by node {}", fullChangeId, nodeId);
+          return true;
+        } catch (FileAlreadyExistsException e) {
+          Optional<String> owner = readOwner(leaseFile);
+          if (owner.isEmpty()) {
+            continue;
+          }
+          if (owner.get().equals(nodeId)) {
+            return true;
+          }
+          if (isAlive(owner.get())) {
+            log.debug("Change {} is owned by node {}", fullChangeId, owner.get());
+            return false;
+          }
+          log.info(
+              "Taking over lease on change {} from expired node {}", fullChangeId, owner.get());
+          releaseStale(leaseFile, owner.get());
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to acquire lease on change {}", fullChangeId, e);
+    }
+    return false;
+  }
+
+  public void release(GerritChange change) {
+    if (!enabled) {
+      return;
+    }
+    String fullChangeId = change.getFullChangeId();
+    Path leaseFile = getLeaseFile(change);
+    if (readOwner(leaseFile).filter(nodeId::equals).isEmpty()) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(leaseFile);
+      log.debug("Lease on change {} released by node {}", fullChangeId, nodeId);
+    } catch (IOException e) {
+      log.error("Failed to release lease on change {}", fullChangeId, e);
+    }
+  }
+
+  private boolean isAlive(String node) {
+    try {
+      long lastHeartbeat =
+          Long.parseLong(Files.readString(getHeartbeatFile(node), StandardCharsets.UTF_8).trim());
+      return clock.millis() - lastHeartbeat < leaseTimeoutMs;
+    } catch (NoSuchFileException e) {
+      return false;
+    } catch (IOException | NumberFormatException e) {
+      log.warn("Failed to read heartbeat of node {}, assuming it is alive", node, e);
+      return true;
+    }
+  }
+
+  private Optional<String> readOwner(Path leaseFile) {
+    try {
+      return Optional.of(Files.readString(leaseFile, StandardCharsets.UTF_8).trim());
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private void releaseStale(Path leaseFile, String expiredOwner) {
+    // Only one of the nodes racing to take over the lease manages to move it away
+    Path staleFile = leaseFile.resolveSibling(leaseFile.getFileName() + "." + nodeId + ".stale");
+    try {
+      Files.move(leaseFile, staleFile, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.debug("Stale lease {} already taken over", leaseFile, e);
+      return;
+    }
+    // Another node may have taken over and re-created the lease since it was read, in which case
+    // the lease moved away is the live one and is put back
+    if (readOwner(staleFile).filter(expiredOwner::equals).isPresent()) {
+      try {
+        Files.deleteIfExists(staleFile);
+      } catch (IOException e) {
+        log.error("Failed to remove stale lease {}", staleFile, e);
+      }
+      return;
+    }
+    try {
+      Files.move(staleFile, leaseFile);
+      log.debug("Lease {} re-created by another node restored", leaseFile);
+    } catch (IOException e) {
+      log.error("Failed to restore lease {} re-created by another node", leaseFile, e);
+    }
+  }
+
+  private void writeAtomically(Path file, String content) throws IOException {
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.writeString(tempFile, content, StandardCharsets.UTF_8);
+    Files.move(
+        tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private Path getHeartbeatFile(String node) {
+    return nodesDirectory.resolve(hash(node) + ".heartbeat");
+  }
+
+  private Path getLeaseFile(GerritChange change) {
+    return changesDirectory.resolve(hash(change.getFullChangeId()) + ".lease");
+  }
+
+  private static String hash(String value) {
+    return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.QueueShedPolicies;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Lets a single task per Change into the lanes at any time, so that the tasks of a Change never run
+ * concurrently while the tasks of different Changes stay parallel. The tasks submitted while one is
+ * in progress wait in the mailbox of the Change without holding a thread, and are handed to the
+ * executor in order as the previous ones are released. A submission overflowing a full mailbox is
+ * shed according to the shed policy.
+ */
+@Slf4j
+public class ChangeTaskSerializer {
+  private final Executor executor;
+  private final int mailboxCapacity;
+  private final QueueShedPolicies shedPolicy;
+  // Changes with a task in progress, mapped to the submissions waiting for it to be released
+  private final Map<String, Deque<Submission>> mailboxes = new HashMap<>();
+
+  private record Submission(Runnable task, Runnable onShed) {}
+
+  public ChangeTaskSerializer(Executor executor) {
+    this(executor, Integer.MAX_VALUE, QueueShedPolicies.REJECT_NEW);
+  }
+
+  public ChangeTaskSerializer(
+      Executor executor, int mailboxCapacity, QueueShedPolicies shedPolicy) {
+    this.executor = executor;
+    this.mailboxCapacity = mailboxCapacity;
+    this.shedPolicy = shedPolicy;
+  }
+
+  public void submit(String fullChangeId, Runnable submission) {
+    submit(fullChangeId, submission, () -> {});
+  }
+
+  /**
+   * Runs the submission right away if the Change has no task in progress, and defers it otherwise.
+   * {@code onShed} is called instead of the submission if it is shed from a full mailbox.
+   */
+  public void submit(String fullChangeId, Runnable submission, Runnable onShed) {
+    Submission newSubmission = new Submission(submission, onShed);
+    Submission shedSubmission = null;
+    synchronized (this) {
+      Deque<Submission> mailbox = mailboxes.get(fullChangeId);
+      if (mailbox == null) {
+        mailboxes.put(fullChangeId, new ArrayDeque<>());
+      } else {
+        if (mailbox.size() < mailboxCapacity) {
+          mailbox.add(newSubmission);
+        } else if (shedPolicy == QueueShedPolicies.DROP_OLDEST && !mailbox.isEmpty()) {
+          shedSubmission = mailbox.poll();
+          mailbox.add(newSubmission);
+        } else {
+          shedSubmission = newSubmission;
+        }
+        log.debug(
+            "Task for change {} deferred, {} waiting behind the task in progress",
+            fullChangeId,
+            mailbox.size());
+        newSubmission = null;
+      }
+    }
+    if (shedSubmission != null) {
+      shedSubmission.onShed().run();
+    }
+    if (newSubmission != null) {
+      submission.run();
+    }
+  }
+
+  /** Called once the task in progress for the Change has completed or has been discarded. */
+  public void release(String fullChangeId) {
+    Submission next;
+    synchronized (this) {
+      Deque<Submission> mailbox = mailboxes.get(fullChangeId);
+      if (mailbox == null) {
+        return;
+      }
+      next = mailbox.poll();
+      if (next == null) {
+        mailboxes.remove(fullChangeId);
+        return;
+      }
+    }
+    log.debug("Submitting next deferred task for change {}", fullChangeId);
+    // The next task is not run on the releasing thread, which may itself be releasing a shed task
+    try {
+      executor.execute(next.task());
+    } catch (RejectedExecutionException e) {
+      log.warn("Executor rejected next deferred task for change {}, running it", fullChangeId, e);
+      next.task().run();
+    }
+  }
+}
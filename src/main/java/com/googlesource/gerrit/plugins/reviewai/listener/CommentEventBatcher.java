@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.gerrit.server.events.CommentAddedEvent;
+import com.google.gerrit.server.events.Event;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds back the comment events of a Change for a batching window, so that the comments published
+ * by the same user in quick succession are answered by a single review. The events received during
+ * the window are merged into the first one, whose review covers the comments of all of them.
+ */
+@Slf4j
+public class CommentEventBatcher {
+  private final long batchingWindowMs;
+  private final ScheduledExecutorService scheduler;
+  private final Map<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+  private record BatchKey(String fullChangeId, String author) {}
+
+  private static class Batch {
+    private final GerritChange change;
+    private final List<String> journalEntryIds = new ArrayList<>();
+
+    private Batch(GerritChange change, String journalEntryId) {
+      this.change = change;
+      journalEntryIds.add(journalEntryId);
+    }
+  }
+
+  public CommentEventBatcher(long batchingWindowMs, ScheduledExecutorService scheduler) {
+    this.batchingWindowMs = batchingWindowMs;
+    this.scheduler = scheduler;
+  }
+
+  /** Merges the event into the batch open for its Change and author, if any. */
+  public boolean join(Event event, String journalEntryId) {
+    Optional<BatchKey> batchKey = getBatchKey(event);
+    if (batchKey.isEmpty()) {
+      return false;
+    }
+    Batch joinedBatch =
+        openBatches.computeIfPresent(
+            batchKey.get(),
+            (key, batch) -> {
+              batch.change.setBatchEndTimeStamp(
+                  Math.max(batch.change.getBatchEndTimeStamp(), event.eventCreatedOn));
+              batch.change.setBatched(true);
+              batch.journalEntryIds.add(journalEntryId);
+              return batch;
+            });
+    if (joinedBatch == null) {
+      return false;
+    }
+    log.debug("Comment event merged into the batch of change: {}", batchKey.get().fullChangeId());
+    return true;
+  }
+
+  /**
+   * Passes the journal entries of the events covered by the review to the submitter, once the
+   * batching window of the event has elapsed.
+   */
+  public void submit(
+      Event event, GerritChange change, String journalEntryId, Consumer<List<String>> submitter) {
+    Optional<BatchKey> batchKey = getBatchKey(event);
+    if (batchKey.isEmpty()) {
+      submitter.accept(List.of(journalEntryId));
+      return;
+    }
+    Batch batch = new Batch(change, journalEntryId);
+    openBatches.put(batchKey.get(), batch);
+    scheduler.schedule(
+        () -> {
+          // Once removed, no more events can join the batch
+          openBatches.remove(batchKey.get(), batch);
+          log.debug(
+              "Submitting batch of {} comment events for change: {}",
+              batch.journalEntryIds.size(),
+              batchKey.get().fullChangeId());
+          submitter.accept(List.copyOf(batch.journalEntryIds));
+        },
+        batchingWindowMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private Optional<BatchKey> getBatchKey(Event event) {
+    if (batchingWindowMs <= 0 || !(event instanceof CommentAddedEvent commentAddedEvent)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(commentAddedEvent.author)
+        .map(Supplier::get)
+        .map(author -> author.username)
+        .map(
+            username ->
+                new BatchKey(new GerritChange(commentAddedEvent).getFullChangeId(), username));
+  }
+}
@@ -17,42 +17,360 @@
 package com.googlesource.gerrit.plugins.reviewai.listener;
 
 import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.server.config.PluginConfig;
 import com.google.gerrit.server.config.PluginConfigFactory;
 import com.google.gerrit.server.events.Event;
 import com.google.gerrit.server.git.WorkQueue;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.Injector;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChangeDataLoader;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.data.EventJournal;
+import com.googlesource.gerrit.plugins.reviewai.listener.EventHandlerLane.LaneType;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics.BulkheadUsage;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.QueueShedPolicies;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewPublication;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewTokenUsage;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.LongConsumer;
 
 @Singleton
 @Slf4j
 public class EventHandlerExecutor {
+  private static final String KEY_MAXIMUM_POOL_SIZE = "maximumPoolSize";
+  private static final String KEY_INTERACTIVE_POOL_SIZE = "interactivePoolSize";
+  private static final String KEY_LANE_BORROWING = "laneBorrowing";
+  private static final String KEY_VIRTUAL_THREADS = "virtualThreads";
+  private static final String KEY_QUEUE_CAPACITY = "queueCapacity";
+  private static final String KEY_QUEUE_SHED_POLICY = "queueShedPolicy";
+  private static final String KEY_COMMENT_BATCHING_WINDOW = "commentBatchingWindow";
+  private static final String KEY_PROVIDER_BULKHEADS = "providerBulkheads";
+  private static final String KEY_PROVIDER_POOL_SIZE = "providerPoolSize";
+  private static final String KEY_PROVIDER_INTERACTIVE_POOL_SIZE = "providerInteractivePoolSize";
+  private static final int DEFAULT_MAXIMUM_POOL_SIZE = 2;
+  private static final int DEFAULT_INTERACTIVE_POOL_SIZE = 1;
+  private static final boolean DEFAULT_LANE_BORROWING = true;
+  private static final boolean DEFAULT_VIRTUAL_THREADS = false;
+  private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+  private static final QueueShedPolicies DEFAULT_QUEUE_SHED_POLICY = QueueShedPolicies.REJECT_NEW;
+  private static final int DEFAULT_COMMENT_BATCHING_WINDOW = 0;
+  private static final boolean DEFAULT_PROVIDER_BULKHEADS = true;
+  private static final String SHARED_BULKHEAD = "shared";
+
   private final Injector injector;
-  private final ScheduledExecutorService executor;
+  private final EventJournal eventJournal;
+  private final ReviewCancellationRegistry reviewCancellationRegistry;
+  private final WorkQueue workQueue;
+  private final ReviewMetrics reviewMetrics;
+  private final int maximumPoolSize;
+  private final int interactivePoolSize;
+  private final Map<String, Integer> providerPoolSizes;
+  private final Map<String, Integer> providerInteractivePoolSizes;
+  private final boolean laneBorrowing;
+  private final boolean virtualThreads;
+  private final int queueCapacity;
+  private final QueueShedPolicies queueShedPolicy;
+  private final boolean providerBulkheads;
+  private final Map<String, ProviderBulkhead> bulkheads = new ConcurrentHashMap<>();
+  private final PatchSetEventCoalescer patchSetEventCoalescer = new PatchSetEventCoalescer();
+  private final CommentEventBatcher commentEventBatcher;
+  private final ChangeTaskSerializer changeTaskSerializer;
+  private final Map<GerritEventContextModule.Template, Injector> templateInjectors =
+      new ConcurrentHashMap<>();
 
   @Inject
   EventHandlerExecutor(
       Injector injector,
       WorkQueue workQueue,
       @PluginName String pluginName,
-      PluginConfigFactory pluginConfigFactory) {
+      PluginConfigFactory pluginConfigFactory,
+      ReviewMetrics reviewMetrics,
+      EventJournal eventJournal,
+      ReviewCancellationRegistry reviewCancellationRegistry) {
     this.injector = injector;
-    int maximumPoolSize =
-        pluginConfigFactory.getFromGerritConfig(pluginName).getInt("maximumPoolSize", 2);
-    this.executor = workQueue.createQueue(maximumPoolSize, "OpenAI request executor");
-    log.debug("EventHandlerExecutor initialized with maximum pool size: {}", maximumPoolSize);
+    this.workQueue = workQueue;
+    this.reviewMetrics = reviewMetrics;
+    this.eventJournal = eventJournal;
+    this.reviewCancellationRegistry = reviewCancellationRegistry;
+    PluginConfig globalConfig = pluginConfigFactory.getFromGerritConfig(pluginName);
+    maximumPoolSize = globalConfig.getInt(KEY_MAXIMUM_POOL_SIZE, DEFAULT_MAXIMUM_POOL_SIZE);
+    interactivePoolSize =
+        globalConfig.getInt(KEY_INTERACTIVE_POOL_SIZE, DEFAULT_INTERACTIVE_POOL_SIZE);
+    laneBorrowing = globalConfig.getBoolean(KEY_LANE_BORROWING, DEFAULT_LANE_BORROWING);
+    virtualThreads = globalConfig.getBoolean(KEY_VIRTUAL_THREADS, DEFAULT_VIRTUAL_THREADS);
+    queueCapacity = globalConfig.getInt(KEY_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+    queueShedPolicy = globalConfig.getEnum(KEY_QUEUE_SHED_POLICY, DEFAULT_QUEUE_SHED_POLICY);
+    providerBulkheads =
+        globalConfig.getBoolean(KEY_PROVIDER_BULKHEADS, DEFAULT_PROVIDER_BULKHEADS);
+    providerPoolSizes = parsePoolSizes(globalConfig.getStringList(KEY_PROVIDER_POOL_SIZE));
+    providerInteractivePoolSizes =
+        parsePoolSizes(globalConfig.getStringList(KEY_PROVIDER_INTERACTIVE_POOL_SIZE));
+    int commentBatchingWindow =
+        globalConfig.getInt(KEY_COMMENT_BATCHING_WINDOW, DEFAULT_COMMENT_BATCHING_WINDOW);
+    commentEventBatcher =
+        new CommentEventBatcher(commentBatchingWindow, workQueue.getDefaultQueue());
+    // The deferred tasks of a Change are bounded like the lane queues they are waiting for
+    changeTaskSerializer =
+        new ChangeTaskSerializer(workQueue.getDefaultQueue(), queueCapacity, queueShedPolicy);
+    reviewMetrics.registerQueueDepth(this::getQueueDepths);
+    reviewMetrics.registerBulkheads(this::getBulkheadUsages);
+    log.debug(
+        "EventHandlerExecutor initialized with pool sizes - interactive: {}, batch: {}, lane "
+            + "borrowing: {}, virtual threads: {}, queue capacity: {}, shed policy: {}, comment "
+            + "batching window: {} ms, provider bulkheads: {}, provider pool sizes: {}, provider "
+            + "interactive pool sizes: {}",
+        interactivePoolSize,
+        maximumPoolSize,
+        laneBorrowing,
+        virtualThreads,
+        queueCapacity,
+        queueShedPolicy,
+        commentBatchingWindow,
+        providerBulkheads,
+        providerPoolSizes,
+        providerInteractivePoolSizes);
   }
 
-  public void execute(Configuration config, Event event) {
+  /**
+   * Executes the event handler for the event already appended to the journal, then calls {@code
+   * onDone} with the tokens spent on the AI provider once the task has completed or has been
+   * discarded.
+   */
+  public void execute(
+      Configuration config, Event event, String journalEntryId, LongConsumer onDone) {
     log.debug("Executing event handler for event: {}", event);
-    GerritEventContextModule contextModule = new GerritEventContextModule(config, event);
+    if (commentEventBatcher.join(event, journalEntryId)) {
+      return;
+    }
+    Injector eventInjector = getTemplateInjector(config);
+    GerritEventScope scope = eventInjector.getInstance(GerritEventScope.class);
+    GerritChange change = new GerritChange(event);
+    GerritEventScope.Context context = scope.newContext(config, change);
     EventHandlerTask task =
-        injector.createChildInjector(contextModule).getInstance(EventHandlerTask.class);
-    executor.execute(task);
-    log.debug("Task submitted to executor for event: {}", event);
+        scope.call(context, () -> eventInjector.getInstance(EventHandlerTask.class));
+    GerritChangeDataLoader gerritChangeDataLoader =
+        scope.call(context, () -> eventInjector.getInstance(GerritChangeDataLoader.class));
+    ReviewCancellation cancellation =
+        reviewCancellationRegistry.register(change.getFullChangeId(), event);
+    ReviewTokenUsage tokenUsage = new ReviewTokenUsage();
+    ReviewPublication publication = new ReviewPublication();
+    Runnable reviewTask =
+        () -> {
+          scope.run(context, task);
+          reviewMetrics.recordGerritApiCalls(gerritChangeDataLoader.getApiCalls());
+        };
+    Runnable coalescedTask =
+        patchSetEventCoalescer.coalesce(
+            change,
+            event,
+            () -> tokenUsage.run(() -> publication.run(() -> cancellation.run(reviewTask))));
+    commentEventBatcher.submit(
+        event,
+        change,
+        journalEntryId,
+        journalEntryIds ->
+            changeTaskSerializer.submit(
+                change.getFullChangeId(),
+                () ->
+                    submitToLane(
+                        config,
+                        event,
+                        change,
+                        coalescedTask,
+                        cancellation,
+                        publication,
+                        journalEntryIds,
+                        () -> onDone.accept(tokenUsage.getTokens())),
+                () ->
+                    getBulkhead(config)
+                        .selectLane(event)
+                        .discard(
+                            change,
+                            () -> {
+                              patchSetEventCoalescer.discard(change, coalescedTask);
+                              finish(change, cancellation, journalEntryIds, true);
+                              onDone.accept(tokenUsage.getTokens());
+                            })));
+  }
+
+  private void submitToLane(
+      Configuration config,
+      Event event,
+      GerritChange change,
+      Runnable task,
+      ReviewCancellation cancellation,
+      ReviewPublication publication,
+      List<String> journalEntryIds,
+      Runnable onDone) {
+    EventHandlerLane lane = getBulkhead(config).selectLane(event);
+    lane.execute(
+        change,
+        config.getProjectReviewWeight(),
+        () -> {
+          boolean handedOver = false;
+          try {
+            task.run();
+            // Tasks interrupted by a shutdown are left pending in the journal to be replayed
+            boolean interrupted = Thread.currentThread().isInterrupted();
+            // The Change is held until the reviews handed over to the publisher are written
+            publication
+                .whenSettled()
+                .whenComplete(
+                    (settled, e) ->
+                        complete(
+                            change,
+                            cancellation,
+                            journalEntryIds,
+                            !interrupted && Boolean.TRUE.equals(settled),
+                            onDone));
+            handedOver = true;
+          } finally {
+            if (!handedOver) {
+              complete(change, cancellation, journalEntryIds, false, onDone);
+            }
+          }
+        },
+        () -> {
+          patchSetEventCoalescer.discard(change, task);
+          complete(change, cancellation, journalEntryIds, true, onDone);
+        });
+    log.debug(
+        "Task submitted to {} lane of {} bulkhead for event: {}",
+        lane.getLaneType(),
+        lane.getBulkhead(),
+        event);
+  }
+
+  private void complete(
+      GerritChange change,
+      ReviewCancellation cancellation,
+      List<String> journalEntryIds,
+      boolean processed,
+      Runnable onDone) {
+    finish(change, cancellation, journalEntryIds, processed);
+    changeTaskSerializer.release(change.getFullChangeId());
+    onDone.run();
+  }
+
+  // Completes the event without releasing the Change, for the tasks shed before holding it
+  private void finish(
+      GerritChange change,
+      ReviewCancellation cancellation,
+      List<String> journalEntryIds,
+      boolean processed) {
+    if (processed) {
+      journalEntryIds.forEach(eventJournal::complete);
+    }
+    reviewCancellationRegistry.unregister(change.getFullChangeId(), cancellation);
+  }
+
+  private Injector getTemplateInjector(Configuration config) {
+    return templateInjectors.computeIfAbsent(
+        GerritEventContextModule.Template.of(config),
+        template -> {
+          log.debug("Creating injector for event context template: {}", template);
+          return injector.createChildInjector(new GerritEventContextModule(template));
+        });
+  }
+
+  private ProviderBulkhead getBulkhead(Configuration config) {
+    String name = providerBulkheads ? ProviderBulkhead.getName(config) : SHARED_BULKHEAD;
+    return bulkheads.computeIfAbsent(name, this::createBulkhead);
+  }
+
+  private ProviderBulkhead createBulkhead(String name) {
+    int bulkheadPoolSize = getPoolSize(providerPoolSizes, name, maximumPoolSize);
+    int bulkheadInteractivePoolSize =
+        getPoolSize(providerInteractivePoolSizes, name, interactivePoolSize);
+    log.info(
+        "Creating {} bulkhead with pool sizes - interactive: {}, batch: {}",
+        name,
+        bulkheadInteractivePoolSize,
+        bulkheadPoolSize);
+    String queueSuffix = SHARED_BULKHEAD.equals(name) ? "" : " [" + name + "]";
+    EventHandlerLane interactiveLane =
+        new EventHandlerLane(
+            LaneType.INTERACTIVE,
+            name,
+            bulkheadInteractivePoolSize,
+            queueCapacity,
+            queueShedPolicy,
+            createExecutor(
+                bulkheadInteractivePoolSize, "OpenAI comment request executor" + queueSuffix),
+            reviewMetrics);
+    EventHandlerLane batchLane =
+        new EventHandlerLane(
+            LaneType.BATCH,
+            name,
+            bulkheadPoolSize,
+            queueCapacity,
+            queueShedPolicy,
+            createExecutor(bulkheadPoolSize, "OpenAI request executor" + queueSuffix),
+            reviewMetrics);
+    return new ProviderBulkhead(name, interactiveLane, batchLane, laneBorrowing);
+  }
+
+  // Pool sizes are set either for all the domains of a provider (`GEMINI:4`) or for a single one
+  private static int getPoolSize(Map<String, Integer> poolSizes, String bulkhead, int defaultSize) {
+    Integer poolSize = poolSizes.get(bulkhead.toUpperCase());
+    int separator = bulkhead.indexOf('/');
+    if (poolSize == null && separator > 0) {
+      poolSize = poolSizes.get(bulkhead.substring(0, separator));
+    }
+    return poolSize != null ? poolSize : defaultSize;
+  }
+
+  private static Map<String, Integer> parsePoolSizes(String[] entries) {
+    Map<String, Integer> poolSizes = new HashMap<>();
+    for (String entry : entries) {
+      int separator = entry.lastIndexOf(':');
+      try {
+        poolSizes.put(
+            entry.substring(0, separator).trim().toUpperCase(),
+            Integer.parseInt(entry.substring(separator + 1).trim()));
+      } catch (IndexOutOfBoundsException | NumberFormatException e) {
+        log.warn("Invalid provider pool size `{}`, expected <provider>:<size>", entry);
+      }
+    }
+    return poolSizes;
+  }
+
+  private Map<String, Integer> getQueueDepths() {
+    Map<String, Integer> queueDepths = new HashMap<>();
+    for (ProviderBulkhead bulkhead : bulkheads.values()) {
+      bulkhead
+          .getQueueDepths()
+          .forEach((project, depth) -> queueDepths.merge(project.get(), depth, Integer::sum));
+    }
+    return queueDepths;
+  }
+
+  private List<BulkheadUsage> getBulkheadUsages() {
+    return bulkheads.values().stream()
+        .map(
+            bulkhead ->
+                new BulkheadUsage(
+                    bulkhead.getName(),
+                    bulkhead.getRunningTasks(),
+                    bulkhead.getQueuedTasks(),
+                    bulkhead.getPoolSize()))
+        .toList();
+  }
+
+  private Executor createExecutor(int poolSize, String queueName) {
+    if (virtualThreads) {
+      return new VirtualThreadExecutor(queueName);
+    }
+    return workQueue.createQueue(poolSize, queueName);
   }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.gerrit.entities.Project;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.QueueShedPolicies;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+public class EventHandlerLane {
+  public enum LaneType {
+    INTERACTIVE,
+    BATCH
+  }
+
+  @Getter private final LaneType laneType;
+  @Getter private final String bulkhead;
+  @Getter private final int poolSize;
+  private final int queueCapacity;
+  private final QueueShedPolicies queueShedPolicy;
+  private final Executor executor;
+  private final ReviewMetrics reviewMetrics;
+  // Tasks wait here rather than in the executor so that projects are served in a fair order
+  private final ProjectFairQueue<QueuedTask> queue = new ProjectFairQueue<>();
+  private int runningTasks;
+
+  public EventHandlerLane(
+      LaneType laneType,
+      String bulkhead,
+      int poolSize,
+      int queueCapacity,
+      QueueShedPolicies queueShedPolicy,
+      Executor executor,
+      ReviewMetrics reviewMetrics) {
+    this.laneType = laneType;
+    this.bulkhead = bulkhead;
+    this.poolSize = poolSize;
+    this.queueCapacity = queueCapacity;
+    this.queueShedPolicy = queueShedPolicy;
+    this.executor = executor;
+    this.reviewMetrics = reviewMetrics;
+    log.debug(
+        "EventHandlerLane {} of {} initialized with pool size: {}, queue capacity: {}, shed "
+            + "policy: {}",
+        laneType,
+        bulkhead,
+        poolSize,
+        queueCapacity,
+        queueShedPolicy);
+  }
+
+  public synchronized boolean hasIdleCapacity() {
+    return runningTasks < poolSize && queue.isEmpty();
+  }
+
+  public synchronized int getPendingTasks() {
+    return runningTasks + queue.size();
+  }
+
+  public synchronized int getRunningTasks() {
+    return runningTasks;
+  }
+
+  public synchronized int getQueuedTasks() {
+    return queue.size();
+  }
+
+  public synchronized Map<Project.NameKey, Integer> getQueueDepths() {
+    return queue.getDepths();
+  }
+
+  public void execute(GerritChange change, int weight, Runnable task, Runnable onDiscard) {
+    QueuedTask queuedTask = new QueuedTask(change, task, onDiscard, System.nanoTime());
+    QueuedTask shedTask = null;
+    synchronized (this) {
+      if (runningTasks >= poolSize && queue.size() >= queueCapacity) {
+        shedTask = shed(queuedTask, weight);
+      } else {
+        queue.add(change.getProjectNameKey(), weight, queuedTask);
+      }
+    }
+    if (shedTask != null) {
+      discard(shedTask.change(), shedTask.onDiscard());
+    }
+    dispatch();
+  }
+
+  /** Discards a request shed by this lane or before reaching it, logging and counting it. */
+  public void discard(GerritChange change, Runnable onDiscard) {
+    log.warn(
+        "{} lane of {} queue full, discarded request for change {} according to {} policy. Use "
+            + "the `/review` command to request the review again.",
+        laneType,
+        bulkhead,
+        change.getFullChangeId(),
+        queueShedPolicy);
+    reviewMetrics.incrementShedTasks(change.getProjectName());
+    onDiscard.run();
+  }
+
+  private QueuedTask shed(QueuedTask queuedTask, int weight) {
+    if (queue.isEmpty()) {
+      return queuedTask;
+    }
+    QueuedTask shedTask =
+        switch (queueShedPolicy) {
+          case DROP_OLDEST -> queue.pollOldest();
+          case DROP_LOWEST_PRIORITY ->
+              weight <= queue.getLowestWeight() ? queuedTask : queue.pollLowestWeight();
+          case REJECT_NEW -> queuedTask;
+        };
+    if (shedTask != queuedTask) {
+      queue.add(queuedTask.change().getProjectNameKey(), weight, queuedTask);
+    }
+    return shedTask;
+  }
+
+  private void dispatch() {
+    while (true) {
+      QueuedTask queuedTask;
+      synchronized (this) {
+        if (runningTasks >= poolSize) {
+          return;
+        }
+        queuedTask = queue.poll();
+        if (queuedTask == null) {
+          return;
+        }
+        runningTasks++;
+      }
+      try {
+        executor.execute(() -> run(queuedTask));
+      } catch (RejectedExecutionException e) {
+        synchronized (this) {
+          runningTasks--;
+        }
+        log.error(
+            "{} lane of {} rejected request for change {}",
+            laneType,
+            bulkhead,
+            queuedTask.change().getFullChangeId(),
+            e);
+        queuedTask.onDiscard().run();
+        return;
+      }
+    }
+  }
+
+  private void run(QueuedTask queuedTask) {
+    try {
+      long waitTimeNanos = System.nanoTime() - queuedTask.enqueuedAt();
+      reviewMetrics.recordQueueWaitTime(queuedTask.change().getProjectName(), waitTimeNanos);
+      reviewMetrics.recordBulkheadWaitTime(bulkhead, waitTimeNanos);
+      queuedTask.task().run();
+    } finally {
+      synchronized (this) {
+        runningTasks--;
+      }
+      dispatch();
+    }
+  }
+
+  private record QueuedTask(
+      GerritChange change, Runnable task, Runnable onDiscard, long enqueuedAt) {}
+}
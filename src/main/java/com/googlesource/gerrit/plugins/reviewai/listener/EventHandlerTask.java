@@ -17,7 +17,6 @@
 package com.googlesource.gerrit.plugins.reviewai.listener;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Splitter;
 import com.google.gerrit.server.data.ChangeAttribute;
 import com.google.gerrit.server.events.ChangeMergedEvent;
 import com.google.gerrit.server.events.CommentAddedEvent;
@@ -31,11 +30,13 @@ import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.common.clie
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClient;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ChangeSetData;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class EventHandlerTask implements Runnable {
@@ -103,6 +104,11 @@ public class EventHandlerTask implements Runnable {
 
   @VisibleForTesting
   public Result execute() {
+    return ReviewDeadline.call(
+        TimeUnit.SECONDS.toMillis(config.getReviewTimeout()), this::executeWithinDeadline);
+  }
+
+  private Result executeWithinDeadline() {
     log.debug("Starting event processing for change ID: {}", change.getFullChangeId());
     if (!preProcessEvent()) {
       log.debug(
@@ -115,6 +121,19 @@ public class EventHandlerTask implements Runnable {
       eventHandlerType.processEvent();
       log.info("Finished processing event for change ID: {}", change.getFullChangeId());
     } catch (Exception e) {
+      if (ReviewDeadline.isExpired()) {
+        log.warn(
+            "Processing of change ID {} stopped after exceeding the review timeout of {} seconds",
+            change.getFullChangeId(),
+            config.getReviewTimeout());
+        return Result.FAILURE;
+      }
+      if (ReviewCancellation.isCurrentCancelled()) {
+        log.info(
+            "Processing of change ID {} cancelled since its outcome is outdated",
+            change.getFullChangeId());
+        return Result.FAILURE;
+      }
       log.error("Error while processing event for change ID: {}", change.getFullChangeId(), e);
       if (e instanceof InterruptedException) {
         Thread.currentThread().interrupt();
@@ -170,11 +189,7 @@ public class EventHandlerTask implements Runnable {
   }
 
   private boolean isReviewEnabled(GerritChange change) {
-    List<String> enabledProjects =
-        Splitter.on(",").omitEmptyStrings().splitToList(config.getEnabledProjects());
-    if (!config.isGlobalEnable()
-        && !enabledProjects.contains(change.getProjectNameKey().get())
-        && !config.isProjectEnable()) {
+    if (!EventPrefilter.isProjectEnabled(config, change.getProjectNameKey())) {
       log.debug("The project {} is not enabled for review", change.getProjectNameKey());
       return false;
     }
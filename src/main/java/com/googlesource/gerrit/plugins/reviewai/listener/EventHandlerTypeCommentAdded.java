@@ -49,7 +49,13 @@ public class EventHandlerTypeCommentAdded implements IEventHandlerType {
     log.debug(
         "Starting preprocessing event for comment added on change ID: {}",
         change.getFullChangeId());
-    if (!gerritClient.retrieveLastComments(change)) {
+    boolean commentsRetrieved = gerritClient.retrieveLastComments(change);
+    // A review requested by a command takes over the comments merged with it by the batching
+    if (change.isBatched() && changeSetData.getForcedReview()) {
+      log.info("Forcing review due to settings for full change ID: {}", change.getFullChangeId());
+      return PreprocessResult.SWITCH_TO_PATCH_SET_CREATED;
+    }
+    if (!commentsRetrieved) {
       log.debug("No new comments found for full change ID: {}", change.getFullChangeId());
       if (changeSetData.getForcedReview()) {
         log.info("Forcing review due to settings for full change ID: {}", change.getFullChangeId());
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.server.events.Event;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.data.EventJournal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Singleton
+@Slf4j
+public class EventJournalReplayer implements LifecycleListener {
+  private static final long JOURNAL_SYNC_INTERVAL_MS = 200;
+
+  private final EventJournal eventJournal;
+  private final GerritListener gerritListener;
+  private final WorkQueue workQueue;
+  private ScheduledFuture<?> syncTask;
+
+  @Inject
+  EventJournalReplayer(
+      EventJournal eventJournal, GerritListener gerritListener, WorkQueue workQueue) {
+    this.eventJournal = eventJournal;
+    this.gerritListener = gerritListener;
+    this.workQueue = workQueue;
+  }
+
+  @Override
+  public void start() {
+    syncTask =
+        workQueue
+            .getDefaultQueue()
+            .scheduleAtFixedRate(
+                eventJournal::sync,
+                JOURNAL_SYNC_INTERVAL_MS,
+                JOURNAL_SYNC_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    for (Map.Entry<String, Event> recoveredEvent : eventJournal.getRecoveredEvents().entrySet()) {
+      log.info("Replaying event left pending before restart: {}", recoveredEvent.getValue());
+      try {
+        gerritListener.processEvent(recoveredEvent.getValue());
+      } catch (RuntimeException e) {
+        log.error("Failed to replay event: {}", recoveredEvent.getValue(), e);
+      }
+      // The replayed event has been journaled again by the listener
+      eventJournal.complete(recoveredEvent.getKey());
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (syncTask != null) {
+      syncTask.cancel(false);
+    }
+    eventJournal.close();
+  }
+}
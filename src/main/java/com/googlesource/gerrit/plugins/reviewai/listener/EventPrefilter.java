@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientAccount.isDisabledTopic;
+import static com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientAccount.isDisabledUserName;
+import static com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.messages.ClientMessageBase.getBotMentionPattern;
+
+import com.google.common.base.Splitter;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.client.ChangeKind;
+import com.google.gerrit.server.data.ChangeAttribute;
+import com.google.gerrit.server.data.PatchSetAttribute;
+import com.google.gerrit.server.events.CommentAddedEvent;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.google.gerrit.server.events.PatchSetEvent;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Discards the events that the event handlers would skip anyway, using only the event payload and
+ * the cached configuration. The checks requiring Gerrit API calls, like the group membership of
+ * the author or the text of the inline comments, are left to the event handlers: whenever the
+ * payload is not conclusive, the event is let through.
+ */
+@Slf4j
+public class EventPrefilter {
+  // Gerrit summarizes the inline comments of a review in its change message, e.g. "(2 comments)"
+  private static final Pattern INLINE_COMMENTS_PATTERN =
+      Pattern.compile("^\\(\\d+ (?:inline )?comments?\\)$", Pattern.MULTILINE);
+
+  private EventPrefilter() {}
+
+  public static boolean isRelevant(Configuration config, PatchSetEvent event) {
+    if (!isProjectEnabled(config, event.getProjectNameKey())) {
+      log.debug("The project {} is not enabled for review", event.getProjectNameKey());
+      return false;
+    }
+    Optional<ChangeAttribute> changeAttribute = getAttribute(event.change);
+    String topic = changeAttribute.map(c -> c.topic).orElse("");
+    if (isDisabledTopic(config, topic)) {
+      log.debug("Review disabled for topic: '{}'", topic);
+      return false;
+    }
+    if (event instanceof PatchSetCreatedEvent patchSetCreatedEvent) {
+      return isPatchSetReviewRelevant(
+          config, patchSetCreatedEvent, changeAttribute.map(c -> c.wip).orElse(null));
+    }
+    if (event instanceof CommentAddedEvent commentAddedEvent) {
+      return isCommentRelevant(config, commentAddedEvent);
+    }
+    return true;
+  }
+
+  static boolean isProjectEnabled(Configuration config, Project.NameKey projectNameKey) {
+    List<String> enabledProjects =
+        Splitter.on(",").omitEmptyStrings().splitToList(config.getEnabledProjects());
+    return config.isGlobalEnable()
+        || enabledProjects.contains(projectNameKey.get())
+        || config.isProjectEnable();
+  }
+
+  private static boolean isPatchSetReviewRelevant(
+      Configuration config, PatchSetCreatedEvent event, Boolean wip) {
+    if (!config.getAiReviewPatchSet()) {
+      log.debug("Review of patch sets is disabled in configuration");
+      return false;
+    }
+    Optional<PatchSetAttribute> patchSetAttribute = getAttribute(event.patchSet);
+    if (patchSetAttribute.isEmpty()) {
+      return true;
+    }
+    // Reviews of other Change kinds can only be forced by command, which comes with a comment
+    ChangeKind kind = patchSetAttribute.get().kind;
+    if (kind != null && kind != ChangeKind.REWORK) {
+      log.debug("Change kind '{}' is not REWORK", kind);
+      return false;
+    }
+    String authorUsername =
+        Optional.ofNullable(patchSetAttribute.get().author).map(a -> a.username).orElse(null);
+    if (authorUsername != null && isDisabledUserName(config, authorUsername)) {
+      log.debug("Patch set review is disabled for user '{}'", authorUsername);
+      return false;
+    }
+    if (Boolean.TRUE.equals(wip)) {
+      log.debug("Change is marked as Work In Progress");
+      return false;
+    }
+    return true;
+  }
+
+  private static boolean isCommentRelevant(Configuration config, CommentAddedEvent event) {
+    String authorUsername = getAttribute(event.author).map(a -> a.username).orElse(null);
+    if (authorUsername == null) {
+      return true;
+    }
+    if (authorUsername.equals(config.getGerritUserName())) {
+      log.debug("Ignoring the Bot's own comments");
+      return false;
+    }
+    if (isDisabledUserName(config, authorUsername)) {
+      log.debug("Review of comments from user '{}' is disabled", authorUsername);
+      return false;
+    }
+    String comment = Optional.ofNullable(event.comment).orElse("");
+    if (INLINE_COMMENTS_PATTERN.matcher(comment).find()) {
+      return true;
+    }
+    if (!getBotMentionPattern(config).matcher(comment).find()) {
+      log.debug("Ignoring comment that does not mention the Bot");
+      return false;
+    }
+    return true;
+  }
+
+  private static <T> Optional<T> getAttribute(Supplier<T> attributeSupplier) {
+    return Optional.ofNullable(attributeSupplier).map(Supplier::get);
+  }
+}
@@ -17,8 +17,6 @@
 package com.googlesource.gerrit.plugins.reviewai.listener;
 
 import com.google.gerrit.extensions.config.FactoryModule;
-import com.google.gerrit.server.events.Event;
-import com.google.inject.Singleton;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.openai.OpenAiClientTaskSpecific;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.langchain.client.api.LangChainClient;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.code.context.OpenAiCodeContextPolicyOnDemand;
@@ -39,44 +37,62 @@ import com.googlesource.gerrit.plugins.reviewai.aibackend.openai.client.api.gerr
 import com.googlesource.gerrit.plugins.reviewai.settings.Settings;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.google.inject.Scopes.SINGLETON;
-
 @Slf4j
 public class GerritEventContextModule extends FactoryModule {
-  private final Event event;
-  private final Configuration config;
+  private final Template template;
+  private final GerritEventScope scope = new GerritEventScope();
+
+  // Implementations selected by the configuration; events sharing them share the same bindings
+  public record Template(
+      Class<? extends IAiClient> aiClient,
+      Class<? extends IGerritClientPatchSet> clientPatchSet,
+      Class<? extends ICodeContextPolicy> codeContextPolicy) {
 
-  public GerritEventContextModule(Configuration config, Event event) {
-    this.event = event;
-    this.config = config;
-    log.debug("Initializing GerritEventContextModule for event type: {}", event.getType());
+    public static Template of(Configuration config) {
+      return new Template(
+          getAiClient(config), getClientPatchSet(config), getCodeContextPolicy(config));
+    }
+  }
+
+  public GerritEventContextModule(Template template) {
+    this.template = template;
+    log.debug("Initializing GerritEventContextModule for template: {}", template);
   }
 
   @Override
   protected void configure() {
     log.debug("Configuring bindings for GerritEventContextModule");
 
-    bind(IAiClient.class).to(getAiClient());
-    log.debug("Bound IOpenAIClient to: {}", getAiClient().getSimpleName());
+    bindScope(GerritEventScoped.class, scope);
+    bind(GerritEventScope.class).toInstance(scope);
+
+    bind(IAiClient.class).to(template.aiClient());
+    log.debug("Bound IOpenAIClient to: {}", template.aiClient().getSimpleName());
 
-    bind(IGerritClientPatchSet.class).to(getClientPatchSet());
-    log.debug("Bound IGerritClientPatchSet to: {}", getClientPatchSet().getSimpleName());
+    bind(IGerritClientPatchSet.class).to(template.clientPatchSet());
+    log.debug("Bound IGerritClientPatchSet to: {}", template.clientPatchSet().getSimpleName());
 
-    bind(ICodeContextPolicy.class).to(getCodeContextPolicy());
-    log.debug("Bound ICodeContextPolicy to: {}", getCodeContextPolicy().getSimpleName());
+    bind(ICodeContextPolicy.class).to(template.codeContextPolicy());
+    log.debug("Bound ICodeContextPolicy to: {}", template.codeContextPolicy().getSimpleName());
 
-    bind(Configuration.class).toInstance(config);
-    bind(GerritChange.class).toInstance(new GerritChange(event));
-    log.debug("GerritChange bound to instance created from event: {}", event.getType());
+    bind(Configuration.class)
+        .toProvider(GerritEventScope.seededKeyProvider(Configuration.class))
+        .in(GerritEventScoped.class);
+    bind(GerritChange.class)
+        .toProvider(GerritEventScope.seededKeyProvider(GerritChange.class))
+        .in(GerritEventScoped.class);
+    log.debug("Configuration and GerritChange bound to event scope");
 
-    bind(ChangeSetData.class).toProvider(ChangeSetDataProvider.class).in(SINGLETON);
-    log.debug("ChangeSetData bound to singleton provider");
+    bind(ChangeSetData.class).toProvider(ChangeSetDataProvider.class).in(GerritEventScoped.class);
+    log.debug("ChangeSetData bound to event scoped provider");
 
-    bind(PluginDataHandler.class).toProvider(PluginDataHandlerProvider.class).in(Singleton.class);
-    log.debug("PluginDataHandler bound to singleton provider");
+    bind(PluginDataHandler.class)
+        .toProvider(PluginDataHandlerProvider.class)
+        .in(GerritEventScoped.class);
+    log.debug("PluginDataHandler bound to event scoped provider");
   }
 
-  private Class<? extends IAiClient> getAiClient() {
+  private static Class<? extends IAiClient> getAiClient(Configuration config) {
     return switch (config.getAiBackend()) {
       case OPENAI ->
           config.getAiReviewCommitMessages() && config.getTaskSpecificAssistants()
@@ -86,13 +102,13 @@ public class GerritEventContextModule extends FactoryModule {
     };
   }
 
-  private Class<? extends IGerritClientPatchSet> getClientPatchSet() {
+  private static Class<? extends IGerritClientPatchSet> getClientPatchSet(Configuration config) {
     return switch (config.getAiBackend()) {
       case OPENAI, LANGCHAIN -> GerritClientPatchSetOpenAi.class;
     };
   }
 
-  private Class<? extends ICodeContextPolicy> getCodeContextPolicy() {
+  private static Class<? extends ICodeContextPolicy> getCodeContextPolicy(Configuration config) {
     return switch (config.getCodeContextPolicy()) {
       case NONE -> CodeContextPolicyNone.class;
       case ON_DEMAND ->
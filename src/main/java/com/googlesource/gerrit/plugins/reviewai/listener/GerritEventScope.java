@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.inject.Key;
+import com.google.inject.OutOfScopeException;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Scope holding the instances bound to a single Gerrit event, so that the injector built for a
+ * combination of bindings can be shared by all the events with that combination.
+ */
+public class GerritEventScope implements Scope {
+  private final ThreadLocal<Context> currentContext = new ThreadLocal<>();
+
+  public static class Context {
+    private final Map<Key<?>, Object> instances = new HashMap<>();
+
+    private Context(Configuration config, GerritChange change) {
+      instances.put(Key.get(Configuration.class), config);
+      instances.put(Key.get(GerritChange.class), change);
+    }
+  }
+
+  public Context newContext(Configuration config, GerritChange change) {
+    return new Context(config, change);
+  }
+
+  public <T> T call(Context context, Supplier<T> supplier) {
+    Context previousContext = currentContext.get();
+    currentContext.set(context);
+    try {
+      return supplier.get();
+    } finally {
+      if (previousContext == null) {
+        currentContext.remove();
+      } else {
+        currentContext.set(previousContext);
+      }
+    }
+  }
+
+  public void run(Context context, Runnable runnable) {
+    call(
+        context,
+        () -> {
+          runnable.run();
+          return null;
+        });
+  }
+
+  @Override
+  public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+    return () -> {
+      Context context = currentContext.get();
+      if (context == null) {
+        throw new OutOfScopeException("Cannot access " + key + " outside of a Gerrit event scope");
+      }
+      @SuppressWarnings("unchecked")
+      T instance = (T) context.instances.get(key);
+      if (instance == null) {
+        instance = unscoped.get();
+        context.instances.put(key, instance);
+      }
+      return instance;
+    };
+  }
+
+  // Provider for the keys seeded in the Context, never called as long as the scope is entered
+  static <T> Provider<T> seededKeyProvider(Class<T> clazz) {
+    return () -> {
+      throw new IllegalStateException(clazz.getSimpleName() + " is not seeded in the event scope");
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "GerritEventScope";
+  }
+}
@@ -19,66 +19,225 @@ package com.googlesource.gerrit.plugins.reviewai.listener;
 import com.google.gerrit.common.Nullable;
 import com.google.gerrit.entities.Change;
 import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.RefNames;
+import com.google.gerrit.extensions.annotations.PluginName;
 import com.google.gerrit.server.config.GerritInstanceId;
+import com.google.gerrit.server.config.PluginConfigFactory;
 import com.google.gerrit.server.events.*;
+import com.google.gerrit.server.git.WorkQueue;
 import com.google.gerrit.server.project.NoSuchProjectException;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
 import com.googlesource.gerrit.plugins.reviewai.config.ConfigCreator;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.data.EventJournal;
 import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerBaseProvider;
 import com.googlesource.gerrit.plugins.reviewai.logging.LoggingConfigurationDeployed;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongConsumer;
 
 import static com.googlesource.gerrit.plugins.reviewai.listener.EventHandlerTask.EVENT_CLASS_MAP;
 
+@Singleton
 @Slf4j
 public class GerritListener implements EventListener {
+  private static final String INTAKE_QUEUE_NAME = "AI review event intake";
+  private static final String KEY_INTAKE_POOL_SIZE = "intakePoolSize";
+  private static final int DEFAULT_INTAKE_POOL_SIZE = 1;
+
   private final String myInstanceId;
   private final ConfigCreator configCreator;
   private final EventHandlerExecutor evenHandlerExecutor;
   private final PluginDataHandlerBaseProvider pluginDataHandlerBaseProvider;
+  private final ChangeLeaseManager changeLeaseManager;
+  private final ReviewMetrics reviewMetrics;
+  private final ReviewCancellationRegistry reviewCancellationRegistry;
+  private final EventJournal eventJournal;
+  private final Executor intakeExecutor;
+  // The events of a change are taken in one at a time, in the order they are received
+  private final ChangeTaskSerializer intakeSerializer;
 
   @Inject
   public GerritListener(
       ConfigCreator configCreator,
       EventHandlerExecutor evenHandlerExecutor,
       PluginDataHandlerBaseProvider pluginDataHandlerBaseProvider,
+      ChangeLeaseManager changeLeaseManager,
+      ReviewMetrics reviewMetrics,
+      ReviewCancellationRegistry reviewCancellationRegistry,
+      EventJournal eventJournal,
+      WorkQueue workQueue,
+      @PluginName String pluginName,
+      PluginConfigFactory pluginConfigFactory,
       @GerritInstanceId @Nullable String myInstanceId) {
     this.configCreator = configCreator;
     this.evenHandlerExecutor = evenHandlerExecutor;
     this.pluginDataHandlerBaseProvider = pluginDataHandlerBaseProvider;
+    this.changeLeaseManager = changeLeaseManager;
+    this.reviewMetrics = reviewMetrics;
+    this.reviewCancellationRegistry = reviewCancellationRegistry;
+    this.eventJournal = eventJournal;
+    this.intakeExecutor =
+        workQueue.createQueue(
+            pluginConfigFactory
+                .getFromGerritConfig(pluginName)
+                .getInt(KEY_INTAKE_POOL_SIZE, DEFAULT_INTAKE_POOL_SIZE),
+            INTAKE_QUEUE_NAME);
+    this.intakeSerializer = new ChangeTaskSerializer(intakeExecutor);
     this.myInstanceId = myInstanceId;
     log.debug("GerritListener initialized with instance ID: {}", myInstanceId);
   }
 
   @Override
   public void onEvent(Event event) {
-    log.debug("Received event: {}", event.getType());
-    if (!Objects.equals(event.instanceId, myInstanceId)) {
-      log.debug("Ignore event from another instance: {}", event.instanceId);
-      return;
+    long start = System.nanoTime();
+    try {
+      log.debug("Received event: {}", event.getType());
+      // Project config updates from any instance invalidate the cached configuration snapshot
+      if (event instanceof RefUpdatedEvent refUpdatedEvent
+          && RefNames.REFS_CONFIG.equals(refUpdatedEvent.getRefName())) {
+        configCreator.invalidateProjectConfig(refUpdatedEvent.getProjectNameKey());
+      }
+      // With partitioning enabled, events from any instance are processed by the owner of the
+      // change
+      if (!changeLeaseManager.isEnabled() && !Objects.equals(event.instanceId, myInstanceId)) {
+        log.debug("Ignore event from another instance: {}", event.instanceId);
+        return;
+      }
+      cancelOutdatedTasks(event);
+      if (changeLeaseManager.isEnabled() && isClosingEvent(event)) {
+        ChangeEvent changeEvent = (ChangeEvent) event;
+        // The lease file is removed off the dispatch thread, after the events already taken in
+        submitToIntake(
+            getFullChangeId(changeEvent),
+            event,
+            () ->
+                changeLeaseManager.release(
+                    new GerritChange(
+                        changeEvent.getProjectNameKey(),
+                        changeEvent.getBranchNameKey(),
+                        changeEvent.getChangeKey())));
+        return;
+      }
+      if (!EVENT_CLASS_MAP.containsValue(event.getClass())) {
+        log.debug("The event {} is not managed by the plugin", event.getType());
+        return;
+      }
+      // The event is journaled before leaving Gerrit's event dispatch thread, so that it is
+      // replayed if the plugin stops before taking it in: appending only records it in memory,
+      // the journal file being written by the periodic sync, and anything else is done off it
+      String journalEntryId = eventJournal.append(event);
+      submitToIntake(
+          getFullChangeId((ChangeEvent) event),
+          event,
+          () -> processEvent(event, journalEntryId, tokens -> {}));
+    } finally {
+      reviewMetrics.recordEventDispatchTime(System.nanoTime() - start);
+    }
+  }
+
+  private void submitToIntake(String fullChangeId, Event event, Runnable intake) {
+    intakeSerializer.submit(fullChangeId, () -> executeIntake(fullChangeId, event, intake));
+  }
+
+  private void executeIntake(String fullChangeId, Event event, Runnable intake) {
+    try {
+      intakeExecutor.execute(
+          () -> {
+            try {
+              intake.run();
+            } catch (RuntimeException e) {
+              log.error("Failed to process event: {}", event, e);
+            } finally {
+              intakeSerializer.release(fullChangeId);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      log.error("Event intake rejected event: {}", event, e);
+      intakeSerializer.release(fullChangeId);
     }
-    if (!EVENT_CLASS_MAP.containsValue(event.getClass())) {
-      log.debug("The event {} is not managed by the plugin", event.getType());
-      return;
+  }
+
+  private static boolean isClosingEvent(Event event) {
+    return event instanceof ChangeAbandonedEvent || event instanceof ChangeDeletedEvent;
+  }
+
+  private void cancelOutdatedTasks(Event event) {
+    if (isClosingEvent(event)) {
+      reviewCancellationRegistry.cancelAll(getFullChangeId((ChangeEvent) event));
+    } else if (event instanceof PatchSetCreatedEvent patchSetCreatedEvent
+        && PatchSetEventCoalescer.isRework(patchSetCreatedEvent)) {
+      reviewCancellationRegistry.cancelPatchSetReviews(getFullChangeId(patchSetCreatedEvent));
     }
+  }
+
+  private static String getFullChangeId(ChangeEvent event) {
+    return new GerritChange(
+            event.getProjectNameKey(), event.getBranchNameKey(), event.getChangeKey())
+        .getFullChangeId();
+  }
+
+  void processEvent(Event event) {
+    processEvent(event, tokens -> {});
+  }
+
+  /**
+   * Processes the event through the same steps as the events received from Gerrit, returning
+   * whether it has been handed over to the event handler, in which case {@code onDone} is called
+   * once its task is over.
+   */
+  boolean processEvent(Event event, LongConsumer onDone) {
+    return processEvent(event, eventJournal.append(event), onDone);
+  }
+
+  private boolean processEvent(Event event, String journalEntryId, LongConsumer onDone) {
+    boolean executed = false;
+    try {
+      executed = handOverEvent(event, journalEntryId, onDone);
+    } finally {
+      if (!executed) {
+        eventJournal.complete(journalEntryId);
+      }
+    }
+    return executed;
+  }
 
-    log.info("Processing event: {}", event);
+  private boolean handOverEvent(Event event, String journalEntryId, LongConsumer onDone) {
     PatchSetEvent patchSetEvent = (PatchSetEvent) event;
     Project.NameKey projectNameKey = patchSetEvent.getProjectNameKey();
     Change.Key changeKey = patchSetEvent.getChangeKey();
+    GerritChange change = new GerritChange(event);
 
+    boolean executed = false;
     try {
       log.debug("Creating configuration for project: {} and change: {}", projectNameKey, changeKey);
       Configuration config = configCreator.createConfig(projectNameKey, changeKey);
-      log.debug("Configuration created, configuring logging...");
-      LoggingConfigurationDeployed.configure(config, pluginDataHandlerBaseProvider);
-      log.debug("Configuration and logging set, executing event handler...");
-      evenHandlerExecutor.execute(config, patchSetEvent);
+      // Skipped events should not pay for the logging setup and the creation of the event handler,
+      // nor claim the Change from the other nodes
+      if (!EventPrefilter.isRelevant(config, patchSetEvent)) {
+        log.debug("Event {} for change {} filtered out", event.getType(), changeKey);
+      } else if (!changeLeaseManager.tryAcquire(change)) {
+        log.debug("Ignore event for change {} owned by another node", changeKey);
+      } else {
+        log.info("Processing event: {}", event);
+        log.debug("Configuration created, configuring logging...");
+        LoggingConfigurationDeployed.configure(config, pluginDataHandlerBaseProvider);
+        log.debug("Configuration and logging set, executing event handler...");
+        evenHandlerExecutor.execute(config, patchSetEvent, journalEntryId, onDone);
+        executed = true;
+      }
+      if (event instanceof ChangeMergedEvent) {
+        changeLeaseManager.release(change);
+      }
     } catch (NoSuchProjectException e) {
       log.error("Project not found: {}", projectNameKey, e);
     }
+    return executed;
   }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.gerrit.extensions.client.ChangeKind;
+import com.google.gerrit.server.events.Event;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class PatchSetEventCoalescer {
+  // Review tasks waiting in the lanes, by full change id
+  private final Map<String, Runnable> queuedTasks = new ConcurrentHashMap<>();
+
+  public Runnable coalesce(GerritChange change, Event event, Runnable task) {
+    if (!(event instanceof PatchSetCreatedEvent patchSetCreatedEvent)
+        || !isRework(patchSetCreatedEvent)) {
+      return task;
+    }
+    String changeKey = change.getFullChangeId();
+    Runnable queuedTask =
+        new Runnable() {
+          @Override
+          public void run() {
+            // A task removed from the map has been replaced by a task for a newer patch set
+            if (!queuedTasks.remove(changeKey, this)) {
+              log.info("Skipping review of superseded patch set for change: {}", changeKey);
+              return;
+            }
+            task.run();
+          }
+        };
+    if (queuedTasks.put(changeKey, queuedTask) != null) {
+      log.info("Queued review superseded by a newer patch set for change: {}", changeKey);
+    }
+    return queuedTask;
+  }
+
+  /** Forgets the task returned by {@link #coalesce} when it is discarded without being run. */
+  public void discard(GerritChange change, Runnable task) {
+    queuedTasks.remove(change.getFullChangeId(), task);
+  }
+
+  @VisibleForTesting
+  int getQueuedTaskCount() {
+    return queuedTasks.size();
+  }
+
+  static boolean isRework(PatchSetCreatedEvent event) {
+    // Patch sets not of kind REWORK do not trigger a review, so they must not replace a queued one
+    return Optional.ofNullable(event.patchSet)
+        .map(Supplier::get)
+        .map(attribute -> attribute.kind == ChangeKind.REWORK)
+        .orElse(false);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.gerrit.entities.Project;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-project sub-queues polled by weighted round-robin: each project in turn yields up to as many
+ * items as its weight. Not thread-safe.
+ */
+public class ProjectFairQueue<T> {
+  private final Map<Project.NameKey, ProjectQueue<T>> projectQueues = new HashMap<>();
+  private final Deque<ProjectQueue<T>> roundRobin = new ArrayDeque<>();
+  private long sequence;
+  private int size;
+
+  public void add(Project.NameKey project, int weight, T item) {
+    ProjectQueue<T> projectQueue =
+        projectQueues.computeIfAbsent(
+            project,
+            key -> {
+              ProjectQueue<T> newQueue = new ProjectQueue<>(key);
+              roundRobin.addLast(newQueue);
+              return newQueue;
+            });
+    projectQueue.weight = Math.max(1, weight);
+    projectQueue.entries.addLast(new Entry<>(sequence++, item));
+    size++;
+  }
+
+  public T poll() {
+    ProjectQueue<T> projectQueue = roundRobin.peekFirst();
+    if (projectQueue == null) {
+      return null;
+    }
+    T item = projectQueue.entries.pollFirst().item();
+    size--;
+    projectQueue.served++;
+    if (projectQueue.entries.isEmpty()) {
+      roundRobin.removeFirst();
+      projectQueues.remove(projectQueue.project);
+    } else if (projectQueue.served >= projectQueue.weight) {
+      projectQueue.served = 0;
+      roundRobin.addLast(roundRobin.removeFirst());
+    }
+    return item;
+  }
+
+  public T pollOldest() {
+    ProjectQueue<T> oldest = null;
+    for (ProjectQueue<T> projectQueue : roundRobin) {
+      if (oldest == null
+          || projectQueue.entries.peekFirst().sequence() < oldest.entries.peekFirst().sequence()) {
+        oldest = projectQueue;
+      }
+    }
+    return oldest == null ? null : pollFrom(oldest);
+  }
+
+  // Polls the oldest item of the lowest-weight project, the one with most items on a tie
+  public T pollLowestWeight() {
+    ProjectQueue<T> lowest = null;
+    for (ProjectQueue<T> projectQueue : roundRobin) {
+      if (lowest == null
+          || projectQueue.weight < lowest.weight
+          || (projectQueue.weight == lowest.weight
+              && projectQueue.entries.size() > lowest.entries.size())) {
+        lowest = projectQueue;
+      }
+    }
+    return lowest == null ? null : pollFrom(lowest);
+  }
+
+  public int getLowestWeight() {
+    return roundRobin.stream().mapToInt(projectQueue -> projectQueue.weight).min().orElse(0);
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public Map<Project.NameKey, Integer> getDepths() {
+    Map<Project.NameKey, Integer> depths = new HashMap<>();
+    projectQueues.forEach(
+        (project, projectQueue) -> depths.put(project, projectQueue.entries.size()));
+    return depths;
+  }
+
+  private T pollFrom(ProjectQueue<T> projectQueue) {
+    T item = projectQueue.entries.pollFirst().item();
+    size--;
+    if (projectQueue.entries.isEmpty()) {
+      roundRobin.remove(projectQueue);
+      projectQueues.remove(projectQueue.project);
+    }
+    return item;
+  }
+
+  private record Entry<T>(long sequence, T item) {}
+
+  private static class ProjectQueue<T> {
+    private final Project.NameKey project;
+    private final Deque<Entry<T>> entries = new ArrayDeque<>();
+    private int weight = 1;
+    private int served;
+
+    private ProjectQueue(Project.NameKey project) {
+      this.project = project;
+    }
+  }
+}
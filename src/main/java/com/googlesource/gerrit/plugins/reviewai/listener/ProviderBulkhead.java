@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.events.CommentAddedEvent;
+import com.google.gerrit.server.events.Event;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.AiBackends;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Interactive and batch lanes dedicated to the tasks of an AI provider, so that a slow provider
+ * only saturates its own threads and queues while the projects using other providers keep being
+ * served.
+ */
+@Slf4j
+public class ProviderBulkhead {
+  @Getter private final String name;
+  private final EventHandlerLane interactiveLane;
+  private final EventHandlerLane batchLane;
+  private final boolean laneBorrowing;
+
+  public ProviderBulkhead(
+      String name,
+      EventHandlerLane interactiveLane,
+      EventHandlerLane batchLane,
+      boolean laneBorrowing) {
+    this.name = name;
+    this.interactiveLane = interactiveLane;
+    this.batchLane = batchLane;
+    this.laneBorrowing = laneBorrowing;
+  }
+
+  public static String getName(Configuration config) {
+    String provider =
+        config.getAiBackend() == AiBackends.LANGCHAIN
+            ? config.getLcProvider().name()
+            : config.getAiBackend().name();
+    return String.join("/", provider, config.getAiDomain());
+  }
+
+  public int getRunningTasks() {
+    return interactiveLane.getRunningTasks() + batchLane.getRunningTasks();
+  }
+
+  public int getQueuedTasks() {
+    return interactiveLane.getQueuedTasks() + batchLane.getQueuedTasks();
+  }
+
+  public int getPoolSize() {
+    return interactiveLane.getPoolSize() + batchLane.getPoolSize();
+  }
+
+  public Map<Project.NameKey, Integer> getQueueDepths() {
+    Map<Project.NameKey, Integer> queueDepths = interactiveLane.getQueueDepths();
+    batchLane
+        .getQueueDepths()
+        .forEach((project, depth) -> queueDepths.merge(project, depth, Integer::sum));
+    return queueDepths;
+  }
+
+  /**
+   * Selects the lane of the event. Replies to comments borrow the batch lane when it is idle, while
+   * reviews never borrow the interactive lane, which stays reserved for the replies.
+   */
+  public EventHandlerLane selectLane(Event event) {
+    if (!(event instanceof CommentAddedEvent)) {
+      return batchLane;
+    }
+    if (laneBorrowing && !interactiveLane.hasIdleCapacity() && batchLane.hasIdleCapacity()) {
+      log.debug(
+          "{} lane of {} saturated with {} pending tasks, borrowing idle capacity from {} lane",
+          interactiveLane.getLaneType(),
+          name,
+          interactiveLane.getPendingTasks(),
+          batchLane.getLaneType());
+      return batchLane;
+    }
+    return interactiveLane;
+  }
+}
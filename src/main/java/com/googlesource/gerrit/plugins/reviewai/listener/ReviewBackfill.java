@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Lists;
+import com.google.gerrit.entities.Account;
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.api.GerritApi;
+import com.google.gerrit.extensions.client.ChangeKind;
+import com.google.gerrit.extensions.client.ListAccountsOption;
+import com.google.gerrit.extensions.client.ListChangesOption;
+import com.google.gerrit.extensions.common.AccountInfo;
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.google.gerrit.extensions.common.GitPerson;
+import com.google.gerrit.extensions.common.RevisionInfo;
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.extensions.restapi.RestApiException;
+import com.google.gerrit.server.data.AccountAttribute;
+import com.google.gerrit.server.data.ChangeAttribute;
+import com.google.gerrit.server.data.PatchSetAttribute;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.gerrit.server.util.ManualRequestContext;
+import com.google.gerrit.server.util.OneOffRequestContext;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandler;
+import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerBaseProvider;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Reviews the changes matching a query, such as the changes already open when the plugin is
+ * enabled on a project. Each change is fed to the listener as a new Patch Set event, so that it
+ * goes through the same filters, queues and limits as the events received from Gerrit, while the
+ * backfill bounds the rate and the number of its reviews in progress, and the tokens they spend.
+ * The progress is persisted, so that an interrupted backfill resumes with the changes not yet
+ * submitted.
+ */
+@Singleton
+@Slf4j
+public class ReviewBackfill implements LifecycleListener {
+  public enum Status {
+    IDLE,
+    RUNNING,
+    STOPPED,
+    BUDGET_EXHAUSTED,
+    COMPLETED,
+    FAILED
+  }
+
+  public record Progress(
+      Status status,
+      String query,
+      int submittedChanges,
+      int skippedChanges,
+      int reviewsInProgress,
+      long tokensUsed,
+      long tokenBudget) {}
+
+  private static final String DATA_PATH = "backfill";
+  private static final String KEY_STATUS = "status";
+  private static final String KEY_QUERY = "query";
+  private static final String KEY_RATE = "rate";
+  private static final String KEY_CONCURRENCY = "concurrency";
+  private static final String KEY_TOKEN_BUDGET = "tokenBudget";
+  private static final String KEY_TOKENS_USED = "tokensUsed";
+  private static final String KEY_SUBMITTED_CHANGES = "submittedChanges";
+  private static final String KEY_SKIPPED_CHANGES = "skippedChanges";
+  private static final int PAGE_SIZE = 100;
+
+  private final GerritApi gerritApi;
+  private final OneOffRequestContext requestContext;
+  private final GerritListener gerritListener;
+  private final PluginDataHandler backfillData;
+  private final ScheduledExecutorService executor;
+  private final Set<Integer> submittedChanges = new HashSet<>();
+  private final AtomicLong tokensUsed = new AtomicLong();
+  private final AtomicInteger reviewsInProgress = new AtomicInteger();
+  private final AtomicInteger completedReviews = new AtomicInteger();
+  private final Object budgetLock = new Object();
+
+  private volatile Status status = Status.IDLE;
+  private String query;
+  private int rate;
+  private int concurrency;
+  private long tokenBudget;
+  private int skippedChanges;
+  private Future<?> runner;
+
+  @Inject
+  ReviewBackfill(
+      GerritApi gerritApi,
+      OneOffRequestContext requestContext,
+      GerritListener gerritListener,
+      PluginDataHandlerBaseProvider pluginDataHandlerBaseProvider,
+      WorkQueue workQueue) {
+    this.gerritApi = gerritApi;
+    this.requestContext = requestContext;
+    this.gerritListener = gerritListener;
+    this.backfillData = pluginDataHandlerBaseProvider.get(DATA_PATH);
+    this.executor = workQueue.createQueue(1, "AI review backfill");
+  }
+
+  @Override
+  public void start() {
+    load();
+    // A backfill interrupted by a restart carries on by itself
+    if (status == Status.RUNNING) {
+      log.info("Resuming review backfill of query `{}`", query);
+      launch();
+    }
+  }
+
+  @Override
+  public void stop() {
+    Future<?> currentRunner;
+    synchronized (this) {
+      currentRunner = runner;
+    }
+    if (currentRunner != null) {
+      currentRunner.cancel(true);
+    }
+  }
+
+  public synchronized void start(String query, int rate, int concurrency, long tokenBudget) {
+    if (status == Status.RUNNING) {
+      throw new IllegalStateException("A backfill is already running");
+    }
+    this.query = query;
+    this.rate = rate;
+    this.concurrency = concurrency;
+    this.tokenBudget = tokenBudget;
+    submittedChanges.clear();
+    skippedChanges = 0;
+    tokensUsed.set(0);
+    completedReviews.set(0);
+    backfillData.setValue(KEY_QUERY, query);
+    backfillData.setValue(KEY_RATE, String.valueOf(rate));
+    backfillData.setValue(KEY_CONCURRENCY, String.valueOf(concurrency));
+    backfillData.setValue(KEY_TOKEN_BUDGET, String.valueOf(tokenBudget));
+    backfillData.setValue(KEY_TOKENS_USED, "0");
+    backfillData.setValue(KEY_SKIPPED_CHANGES, "0");
+    backfillData.setJsonValue(KEY_SUBMITTED_CHANGES, submittedChanges);
+    log.info(
+        "Starting review backfill of query `{}` with rate: {}/min, concurrency: {}, token "
+            + "budget: {}",
+        query,
+        rate,
+        concurrency,
+        tokenBudget);
+    launch();
+  }
+
+  /** Resumes the last backfill, optionally raising its token budget. */
+  public synchronized void resume(Long newTokenBudget) {
+    if (status == Status.RUNNING) {
+      throw new IllegalStateException("The backfill is already running");
+    }
+    if (query == null) {
+      throw new IllegalStateException("No backfill to resume");
+    }
+    if (newTokenBudget != null) {
+      tokenBudget = newTokenBudget;
+      backfillData.setValue(KEY_TOKEN_BUDGET, String.valueOf(tokenBudget));
+    }
+    log.info("Resuming review backfill of query `{}`", query);
+    launch();
+  }
+
+  public void cancel() {
+    synchronized (this) {
+      if (status != Status.RUNNING) {
+        return;
+      }
+      setStatus(Status.STOPPED);
+    }
+    stop();
+  }
+
+  public synchronized Progress getProgress() {
+    return new Progress(
+        status,
+        query,
+        submittedChanges.size() - skippedChanges,
+        skippedChanges,
+        reviewsInProgress.get(),
+        tokensUsed.get(),
+        tokenBudget);
+  }
+
+  private synchronized void launch() {
+    setStatus(Status.RUNNING);
+    Semaphore reviewSlots = new Semaphore(concurrency);
+    long submissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / rate;
+    runner = executor.submit(() -> run(reviewSlots, submissionIntervalNanos));
+  }
+
+  private void run(Semaphore reviewSlots, long submissionIntervalNanos) {
+    long nextSubmission = System.nanoTime();
+    try {
+      // The changes are listed upfront, since the reviews may change the results of the query
+      // while the backfill pages through them
+      List<Integer> changeNumbers = collectChangeNumbers();
+      log.info("Review backfill of query `{}` matched {} changes", query, changeNumbers.size());
+      for (List<Integer> page : Lists.partition(changeNumbers, PAGE_SIZE)) {
+        List<Integer> pendingChanges =
+            page.stream().filter(number -> !isSubmitted(number)).toList();
+        if (pendingChanges.isEmpty()) {
+          continue;
+        }
+        for (ChangeInfo changeInfo : queryChanges(pendingChanges)) {
+          if (isSubmitted(changeInfo._number)) {
+            continue;
+          }
+          reviewSlots.acquire();
+          long waitNanos = nextSubmission - System.nanoTime();
+          if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+          }
+          if (!awaitTokenBudget()) {
+            reviewSlots.release();
+            log.info("Review backfill stopped after spending its budget of {} tokens", tokenBudget);
+            setStatus(Status.BUDGET_EXHAUSTED);
+            return;
+          }
+          nextSubmission = Math.max(nextSubmission, System.nanoTime()) + submissionIntervalNanos;
+          submit(changeInfo, reviewSlots);
+        }
+      }
+      log.info("Review backfill of query `{}` completed", query);
+      setStatus(Status.COMPLETED);
+    } catch (InterruptedException e) {
+      log.info("Review backfill of query `{}` interrupted", query);
+    } catch (RestApiException | RuntimeException e) {
+      log.error("Review backfill of query `{}` failed", query, e);
+      // A failure caused by the interruption of a stopped backfill leaves it stopped
+      if (status == Status.RUNNING) {
+        setStatus(Status.FAILED);
+      }
+    }
+  }
+
+  /**
+   * Returns whether the budget allows one more review. While the reviews in progress are expected
+   * to spend what is left of the budget, at the average cost of the completed ones, it waits for
+   * them to complete first.
+   */
+  private boolean awaitTokenBudget() throws InterruptedException {
+    if (tokenBudget <= 0) {
+      return true;
+    }
+    synchronized (budgetLock) {
+      while (true) {
+        long used = tokensUsed.get();
+        if (used >= tokenBudget) {
+          return false;
+        }
+        int inProgress = reviewsInProgress.get();
+        int completed = completedReviews.get();
+        if (inProgress == 0
+            || completed == 0
+            || used + used / completed * inProgress < tokenBudget) {
+          return true;
+        }
+        log.debug("Waiting for {} reviews in progress before spending more tokens", inProgress);
+        budgetLock.wait();
+      }
+    }
+  }
+
+  private List<Integer> collectChangeNumbers() throws RestApiException {
+    Set<Integer> changeNumbers = new LinkedHashSet<>();
+    try (ManualRequestContext ctx = requestContext.open()) {
+      int start = 0;
+      while (true) {
+        List<ChangeInfo> changes =
+            gerritApi.changes().query(query).withStart(start).withLimit(PAGE_SIZE).get();
+        changes.forEach(changeInfo -> changeNumbers.add(changeInfo._number));
+        if (changes.isEmpty()
+            || !Boolean.TRUE.equals(changes.get(changes.size() - 1)._moreChanges)) {
+          return new ArrayList<>(changeNumbers);
+        }
+        start += changes.size();
+      }
+    }
+  }
+
+  // The changes that no longer match the query since they were listed are left out
+  private List<ChangeInfo> queryChanges(List<Integer> changeNumbers) throws RestApiException {
+    String changes =
+        changeNumbers.stream().map(number -> "change:" + number).collect(joining(" OR "));
+    try (ManualRequestContext ctx = requestContext.open()) {
+      return gerritApi
+          .changes()
+          .query("(" + query + ") (" + changes + ")")
+          .withOptions(
+              ListChangesOption.CURRENT_REVISION,
+              ListChangesOption.CURRENT_COMMIT,
+              ListChangesOption.DETAILED_ACCOUNTS)
+          .withLimit(changeNumbers.size())
+          .get();
+    }
+  }
+
+  private void submit(ChangeInfo changeInfo, Semaphore reviewSlots) {
+    reviewsInProgress.incrementAndGet();
+    PatchSetCreatedEvent event = createEvent(changeInfo);
+    resolveUsername(event.patchSet.get().author);
+    boolean executed =
+        gerritListener.processEvent(
+            event,
+            tokens -> {
+              backfillData.setValue(KEY_TOKENS_USED, String.valueOf(tokensUsed.addAndGet(tokens)));
+              completedReviews.incrementAndGet();
+              reviewsInProgress.decrementAndGet();
+              reviewSlots.release();
+              synchronized (budgetLock) {
+                budgetLock.notifyAll();
+              }
+            });
+    synchronized (this) {
+      submittedChanges.add(changeInfo._number);
+      backfillData.setJsonValue(KEY_SUBMITTED_CHANGES, submittedChanges);
+      if (!executed) {
+        skippedChanges++;
+        backfillData.setValue(KEY_SKIPPED_CHANGES, String.valueOf(skippedChanges));
+      }
+    }
+    if (!executed) {
+      log.debug("Change {} skipped by the review backfill", changeInfo._number);
+      reviewsInProgress.decrementAndGet();
+      reviewSlots.release();
+    }
+    log.debug("Review backfill progress: {}", getProgress());
+  }
+
+  // As Gerrit does for the events it emits, the author is the account registered with the email
+  private void resolveUsername(AccountAttribute author) {
+    if (author.email == null) {
+      return;
+    }
+    try (ManualRequestContext ctx = requestContext.open()) {
+      List<AccountInfo> accounts =
+          gerritApi
+              .accounts()
+              .query("email:\"" + author.email + "\"")
+              .withOption(ListAccountsOption.DETAILS)
+              .withLimit(2)
+              .get();
+      if (accounts.size() == 1) {
+        author.username = accounts.get(0).username;
+      }
+    } catch (RestApiException e) {
+      log.warn("Failed to resolve the account of the author {}", author.email, e);
+    }
+  }
+
+  private synchronized boolean isSubmitted(int changeNumber) {
+    return submittedChanges.contains(changeNumber);
+  }
+
+  private synchronized void setStatus(Status status) {
+    this.status = status;
+    backfillData.setValue(KEY_STATUS, status.name());
+  }
+
+  private synchronized void load() {
+    String storedStatus = backfillData.getValue(KEY_STATUS);
+    query = backfillData.getValue(KEY_QUERY);
+    if (storedStatus == null || query == null) {
+      return;
+    }
+    status = Status.valueOf(storedStatus);
+    rate = Integer.parseInt(backfillData.getValue(KEY_RATE));
+    concurrency = Integer.parseInt(backfillData.getValue(KEY_CONCURRENCY));
+    tokenBudget = Long.parseLong(backfillData.getValue(KEY_TOKEN_BUDGET));
+    tokensUsed.set(Long.parseLong(backfillData.getValue(KEY_TOKENS_USED)));
+    skippedChanges = Integer.parseInt(backfillData.getValue(KEY_SKIPPED_CHANGES));
+    Optional.ofNullable(backfillData.getJsonArrayValue(KEY_SUBMITTED_CHANGES, Integer.class))
+        .ifPresent(submittedChanges::addAll);
+  }
+
+  /** Event of the current Patch Set of the change, as if it had just been uploaded. */
+  static PatchSetCreatedEvent createEvent(ChangeInfo changeInfo) {
+    Project.NameKey projectNameKey = Project.nameKey(changeInfo.project);
+    Change change =
+        new Change(
+            Change.key(changeInfo.changeId),
+            Change.id(changeInfo._number),
+            Account.id(changeInfo.owner._accountId),
+            BranchNameKey.create(projectNameKey, changeInfo.branch),
+            Instant.now());
+    RevisionInfo revision = changeInfo.revisions.get(changeInfo.currentRevision);
+
+    ChangeAttribute changeAttribute = new ChangeAttribute();
+    changeAttribute.project = changeInfo.project;
+    changeAttribute.branch = changeInfo.branch;
+    changeAttribute.id = changeInfo.changeId;
+    changeAttribute.number = changeInfo._number;
+    changeAttribute.subject = changeInfo.subject;
+    changeAttribute.topic = changeInfo.topic;
+    changeAttribute.wip = changeInfo.workInProgress;
+
+    PatchSetAttribute patchSetAttribute = new PatchSetAttribute();
+    patchSetAttribute.number = revision._number;
+    patchSetAttribute.revision = changeInfo.currentRevision;
+    patchSetAttribute.ref = revision.ref;
+    // REWORK is the only kind triggering the review of a Patch Set
+    patchSetAttribute.kind = ChangeKind.REWORK;
+    patchSetAttribute.uploader = toAccountAttribute(revision.uploader);
+    patchSetAttribute.author = toAccountAttribute(revision.commit.author);
+
+    PatchSetCreatedEvent event = new PatchSetCreatedEvent(change);
+    event.change = Suppliers.ofInstance(changeAttribute);
+    event.patchSet = Suppliers.ofInstance(patchSetAttribute);
+    event.uploader = Suppliers.ofInstance(patchSetAttribute.uploader);
+    return event;
+  }
+
+  private static AccountAttribute toAccountAttribute(AccountInfo accountInfo) {
+    AccountAttribute accountAttribute = new AccountAttribute();
+    if (accountInfo != null) {
+      accountAttribute.name = accountInfo.name;
+      accountAttribute.email = accountInfo.email;
+      accountAttribute.username = accountInfo.username;
+    }
+    return accountAttribute;
+  }
+
+  private static AccountAttribute toAccountAttribute(GitPerson gitPerson) {
+    AccountAttribute accountAttribute = new AccountAttribute();
+    if (gitPerson != null) {
+      accountAttribute.name = gitPerson.name;
+      accountAttribute.email = gitPerson.email;
+    }
+    return accountAttribute;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.gerrit.server.events.Event;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps track of the queued and running tasks of each Change, so that they can be cancelled when
+ * their outcome becomes outdated.
+ */
+@Singleton
+@Slf4j
+public class ReviewCancellationRegistry {
+  private final Map<String, List<Registration>> registrations = new HashMap<>();
+  // Cancellation hooks may call remote services, so they are run off the caller's thread
+  private final Executor cancellationExecutor;
+
+  private record Registration(ReviewCancellation cancellation, boolean patchSetReview) {}
+
+  @Inject
+  ReviewCancellationRegistry(WorkQueue workQueue) {
+    this(workQueue.getDefaultQueue());
+  }
+
+  public ReviewCancellationRegistry(Executor cancellationExecutor) {
+    this.cancellationExecutor = cancellationExecutor;
+  }
+
+  public synchronized ReviewCancellation register(String fullChangeId, Event event) {
+    ReviewCancellation cancellation = new ReviewCancellation();
+    registrations
+        .computeIfAbsent(fullChangeId, k -> new ArrayList<>())
+        .add(new Registration(cancellation, event instanceof PatchSetCreatedEvent));
+    return cancellation;
+  }
+
+  public synchronized void unregister(String fullChangeId, ReviewCancellation cancellation) {
+    List<Registration> changeRegistrations = registrations.get(fullChangeId);
+    if (changeRegistrations == null) {
+      return;
+    }
+    changeRegistrations.removeIf(registration -> registration.cancellation() == cancellation);
+    if (changeRegistrations.isEmpty()) {
+      registrations.remove(fullChangeId);
+    }
+  }
+
+  /** Cancels the reviews of the previous patch sets of the Change. */
+  public void cancelPatchSetReviews(String fullChangeId) {
+    cancel(fullChangeId, true);
+  }
+
+  /** Cancels all the tasks of the Change. */
+  public void cancelAll(String fullChangeId) {
+    cancel(fullChangeId, false);
+  }
+
+  private void cancel(String fullChangeId, boolean patchSetReviewsOnly) {
+    List<ReviewCancellation> cancellations = new ArrayList<>();
+    synchronized (this) {
+      List<Registration> changeRegistrations = registrations.get(fullChangeId);
+      if (changeRegistrations == null) {
+        return;
+      }
+      for (Registration registration : changeRegistrations) {
+        if (!patchSetReviewsOnly || registration.patchSetReview()) {
+          cancellations.add(registration.cancellation());
+        }
+      }
+    }
+    if (cancellations.isEmpty()) {
+      return;
+    }
+    log.info("Cancelling {} outdated tasks of change {}", cancellations.size(), fullChangeId);
+    cancellations.forEach(cancellation -> cancellationExecutor.execute(cancellation::cancel));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import com.google.common.base.Splitter;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.server.config.AllProjectsName;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.gerrit.server.project.NoSuchProjectException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http.HttpClient;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.prompt.AiPrompt;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.langchain.client.api.LangChainClient;
+import com.googlesource.gerrit.plugins.reviewai.config.ConfigCreator;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.AiBackends;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the prompts, token estimators and connections of the configured AI providers at plugin
+ * start, in the background, so that the first reviews after a restart do not pay for them.
+ */
+@Singleton
+@Slf4j
+public class ReviewWarmUp implements LifecycleListener {
+  private static final String KEY_WARM_UP = "warmUp";
+  private static final boolean DEFAULT_WARM_UP = false;
+
+  private final String pluginName;
+  private final PluginConfigFactory pluginConfigFactory;
+  private final ConfigCreator configCreator;
+  private final AllProjectsName allProjectsName;
+  private final ReviewMetrics reviewMetrics;
+  private final WorkQueue workQueue;
+  private final Map<String, Boolean> providerReadiness = new ConcurrentHashMap<>();
+
+  @Inject
+  ReviewWarmUp(
+      @PluginName String pluginName,
+      PluginConfigFactory pluginConfigFactory,
+      ConfigCreator configCreator,
+      AllProjectsName allProjectsName,
+      ReviewMetrics reviewMetrics,
+      WorkQueue workQueue) {
+    this.pluginName = pluginName;
+    this.pluginConfigFactory = pluginConfigFactory;
+    this.configCreator = configCreator;
+    this.allProjectsName = allProjectsName;
+    this.reviewMetrics = reviewMetrics;
+    this.workQueue = workQueue;
+  }
+
+  @Override
+  public void start() {
+    if (!pluginConfigFactory
+        .getFromGerritConfig(pluginName)
+        .getBoolean(KEY_WARM_UP, DEFAULT_WARM_UP)) {
+      return;
+    }
+    reviewMetrics.registerWarmUp(() -> providerReadiness);
+    workQueue.getDefaultQueue().submit(this::warmUp);
+  }
+
+  @Override
+  public void stop() {}
+
+  private void warmUp() {
+    long startNanos = System.nanoTime();
+    log.info("Warming up the AI review resources");
+    try {
+      AiPrompt.preloadPrompts();
+      Map<String, Configuration> providerConfigs = getProviderConfigs();
+      providerConfigs.keySet().forEach(provider -> providerReadiness.put(provider, false));
+      for (Map.Entry<String, Configuration> providerConfig : providerConfigs.entrySet()) {
+        try {
+          warmUpProvider(providerConfig.getValue());
+          providerReadiness.put(providerConfig.getKey(), true);
+          log.info("AI provider {} warmed up", providerConfig.getKey());
+        } catch (Exception e) {
+          log.warn("Failed to warm up AI provider {}", providerConfig.getKey(), e);
+        }
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to warm up the AI review resources", e);
+    }
+    log.info(
+        "AI review warm-up completed in {} ms, providers ready: {}",
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+        providerReadiness);
+  }
+
+  // One configuration for each provider used by All-Projects or by the enabled projects
+  private Map<String, Configuration> getProviderConfigs() {
+    Map<String, Configuration> providerConfigs = new LinkedHashMap<>();
+    Configuration allProjectsConfig = createConfig(allProjectsName);
+    if (allProjectsConfig == null) {
+      return providerConfigs;
+    }
+    providerConfigs.put(ProviderBulkhead.getName(allProjectsConfig), allProjectsConfig);
+    Set<String> enabledProjects =
+        new LinkedHashSet<>(
+            Splitter.on(",")
+                .trimResults()
+                .omitEmptyStrings()
+                .splitToList(allProjectsConfig.getEnabledProjects()));
+    for (String enabledProject : enabledProjects) {
+      Configuration config = createConfig(Project.nameKey(enabledProject));
+      if (config != null) {
+        providerConfigs.putIfAbsent(ProviderBulkhead.getName(config), config);
+      }
+    }
+    return providerConfigs;
+  }
+
+  private Configuration createConfig(Project.NameKey projectName) {
+    try {
+      return configCreator.createConfig(projectName);
+    } catch (NoSuchProjectException | RuntimeException e) {
+      log.warn("Cannot load the configuration of project {} to warm up", projectName, e);
+      return null;
+    }
+  }
+
+  private void warmUpProvider(Configuration config) throws Exception {
+    if (config.getAiBackend() == AiBackends.LANGCHAIN) {
+      LangChainClient.warmUp(config);
+    } else {
+      HttpClient.warmUp(config);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs each task on a virtual thread of its own. The number of concurrent tasks is bounded by the
+ * lane submitting them, which never runs more tasks than its pool size.
+ */
+@Slf4j
+public class VirtualThreadExecutor implements Executor {
+  private final ThreadFactory threadFactory;
+
+  public VirtualThreadExecutor(String name) {
+    threadFactory = Thread.ofVirtual().name(name + "-", 0).factory();
+    log.debug("VirtualThreadExecutor {} initialized", name);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    threadFactory.newThread(() -> run(task)).start();
+  }
+
+  private static void run(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      log.error("Unexpected error while running task on virtual thread", e);
+    }
+  }
+}
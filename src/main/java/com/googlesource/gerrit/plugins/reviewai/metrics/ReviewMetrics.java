@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.metrics;
+
+import com.google.gerrit.metrics.CallbackMetric1;
+import com.google.gerrit.metrics.Counter1;
+import com.google.gerrit.metrics.Description;
+import com.google.gerrit.metrics.Description.Units;
+import com.google.gerrit.metrics.Field;
+import com.google.gerrit.metrics.Histogram0;
+import com.google.gerrit.metrics.MetricMaker;
+import com.google.gerrit.metrics.Timer0;
+import com.google.gerrit.metrics.Timer1;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Singleton
+public class ReviewMetrics {
+  public record BulkheadUsage(String name, int runningTasks, int queuedTasks, int poolSize) {}
+
+  private final MetricMaker metricMaker;
+  private final Timer1<String> queueWaitTime;
+  private final CallbackMetric1<String, Integer> queueDepth;
+  private final Counter1<String> shedTasks;
+  private final Timer0 eventDispatchTime;
+  private final Histogram0 gerritApiCalls;
+  private final Timer1<String> bulkheadWaitTime;
+  private final CallbackMetric1<String, Integer> bulkheadRunningTasks;
+  private final CallbackMetric1<String, Integer> bulkheadQueuedTasks;
+  private final CallbackMetric1<String, Integer> bulkheadPoolSize;
+  private final CallbackMetric1<String, Boolean> warmUpReady;
+
+  @Inject
+  public ReviewMetrics(MetricMaker metricMaker) {
+    this.metricMaker = metricMaker;
+    Field<String> projectField =
+        Field.ofProjectName("project_name").description("Name of the project").build();
+    queueWaitTime =
+        metricMaker.newTimer(
+            "queue/wait_time",
+            new Description("Time a review request waits in the queue before being executed")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS),
+            projectField);
+    queueDepth =
+        metricMaker.newCallbackMetric(
+            "queue/depth",
+            Integer.class,
+            new Description("Number of review requests waiting in the queue")
+                .setGauge()
+                .setUnit("requests"),
+            projectField);
+    shedTasks =
+        metricMaker.newCounter(
+            "queue/shed_tasks",
+            new Description("Number of review requests discarded because the queue was full")
+                .setRate()
+                .setUnit("requests"),
+            projectField);
+    eventDispatchTime =
+        metricMaker.newTimer(
+            "events/dispatch_time",
+            new Description("Time spent by the event listener on Gerrit's event dispatch thread")
+                .setCumulative()
+                .setUnit(Units.MICROSECONDS));
+    gerritApiCalls =
+        metricMaker.newHistogram(
+            "gerrit/api_calls",
+            new Description("Number of Gerrit API requests made to read the Change of a review")
+                .setCumulative()
+                .setUnit("requests"));
+    Field<String> bulkheadField =
+        Field.ofString("bulkhead", Field.ignoreMetadata())
+            .description("AI provider and domain served by the bulkhead")
+            .build();
+    bulkheadWaitTime =
+        metricMaker.newTimer(
+            "bulkhead/wait_time",
+            new Description("Time a review request waits in the queue of its AI provider bulkhead")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS),
+            bulkheadField);
+    bulkheadRunningTasks =
+        metricMaker.newCallbackMetric(
+            "bulkhead/running_tasks",
+            Integer.class,
+            new Description("Number of review requests running in the AI provider bulkhead")
+                .setGauge()
+                .setUnit("requests"),
+            bulkheadField);
+    bulkheadQueuedTasks =
+        metricMaker.newCallbackMetric(
+            "bulkhead/queued_tasks",
+            Integer.class,
+            new Description("Number of review requests waiting in the AI provider bulkhead")
+                .setGauge()
+                .setUnit("requests"),
+            bulkheadField);
+    bulkheadPoolSize =
+        metricMaker.newCallbackMetric(
+            "bulkhead/pool_size",
+            Integer.class,
+            new Description("Maximum concurrent review requests of the AI provider bulkhead")
+                .setGauge()
+                .setUnit("requests"),
+            bulkheadField);
+    warmUpReady =
+        metricMaker.newCallbackMetric(
+            "warmup/ready",
+            Boolean.class,
+            new Description("Whether the resources of the AI provider have been warmed up")
+                .setGauge(),
+            bulkheadField);
+  }
+
+  public void registerQueueDepth(Supplier<Map<String, Integer>> queueDepthSupplier) {
+    metricMaker.newTrigger(
+        queueDepth,
+        () -> {
+          queueDepthSupplier.get().forEach(queueDepth::set);
+          queueDepth.prune();
+        });
+  }
+
+  public void registerBulkheads(Supplier<Collection<BulkheadUsage>> bulkheadUsageSupplier) {
+    metricMaker.newTrigger(
+        Set.of(bulkheadRunningTasks, bulkheadQueuedTasks, bulkheadPoolSize),
+        () -> {
+          for (BulkheadUsage usage : bulkheadUsageSupplier.get()) {
+            bulkheadRunningTasks.set(usage.name(), usage.runningTasks());
+            bulkheadQueuedTasks.set(usage.name(), usage.queuedTasks());
+            bulkheadPoolSize.set(usage.name(), usage.poolSize());
+          }
+          bulkheadRunningTasks.prune();
+          bulkheadQueuedTasks.prune();
+          bulkheadPoolSize.prune();
+        });
+  }
+
+  public void registerWarmUp(Supplier<Map<String, Boolean>> warmUpReadySupplier) {
+    metricMaker.newTrigger(
+        warmUpReady,
+        () -> {
+          warmUpReadySupplier.get().forEach(warmUpReady::set);
+          warmUpReady.prune();
+        });
+  }
+
+  public void incrementShedTasks(String project) {
+    shedTasks.increment(project);
+  }
+
+  public void recordQueueWaitTime(String project, long waitTimeNanos) {
+    queueWaitTime.record(project, waitTimeNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordBulkheadWaitTime(String bulkhead, long waitTimeNanos) {
+    bulkheadWaitTime.record(bulkhead, waitTimeNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordGerritApiCalls(int apiCalls) {
+    gerritApiCalls.record(apiCalls);
+  }
+
+  public void recordEventDispatchTime(long dispatchTimeNanos) {
+    eventDispatchTime.record(dispatchTimeNanos, TimeUnit.NANOSECONDS);
+  }
+}
@@ -47,4 +47,10 @@ public class Settings {
     GEMINI,
     MOONSHOT
   }
+
+  public enum QueueShedPolicies {
+    DROP_OLDEST,
+    DROP_LOWEST_PRIORITY,
+    REJECT_NEW
+  }
 }
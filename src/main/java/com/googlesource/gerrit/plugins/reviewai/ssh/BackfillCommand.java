@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.ssh;
+
+import com.google.gerrit.common.data.GlobalCapability;
+import com.google.gerrit.extensions.annotations.RequiresCapability;
+import com.google.gerrit.sshd.CommandMetaData;
+import com.google.gerrit.sshd.SshCommand;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.reviewai.listener.ReviewBackfill;
+import org.kohsuke.args4j.Argument;
+import org.kohsuke.args4j.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiresCapability(GlobalCapability.ADMINISTRATE_SERVER)
+@CommandMetaData(name = "backfill", description = "Review the changes matching a query")
+public class BackfillCommand extends SshCommand {
+  @Option(name = "--rate", metaVar = "CHANGES", usage = "changes submitted per minute (default 10)")
+  private int rate = 10;
+
+  @Option(
+      name = "--concurrency",
+      metaVar = "REVIEWS",
+      usage = "maximum number of reviews in progress (default 2)")
+  private int concurrency = 2;
+
+  @Option(
+      name = "--token-budget",
+      metaVar = "TOKENS",
+      usage = "tokens after which the backfill stops, 0 for no limit (default 0)")
+  private Long tokenBudget;
+
+  @Option(
+      name = "--resume",
+      forbids = {"--stop", "--status", "--rate", "--concurrency"},
+      usage = "resume the last backfill where it stopped")
+  private boolean resume;
+
+  @Option(
+      name = "--stop",
+      forbids = {"--resume", "--status", "--rate", "--concurrency", "--token-budget"},
+      usage = "stop the running backfill")
+  private boolean stop;
+
+  @Option(
+      name = "--status",
+      forbids = {"--resume", "--stop", "--rate", "--concurrency", "--token-budget"},
+      usage = "show the progress of the last backfill")
+  private boolean status;
+
+  @Argument(metaVar = "QUERY", usage = "query of the changes to review")
+  private List<String> query = new ArrayList<>();
+
+  @Inject private ReviewBackfill reviewBackfill;
+
+  @Override
+  protected void run() throws UnloggedFailure {
+    if ((stop || resume || status) && !query.isEmpty()) {
+      throw die("A query cannot be combined with --resume, --stop or --status");
+    }
+    try {
+      if (stop) {
+        reviewBackfill.cancel();
+      } else if (resume) {
+        reviewBackfill.resume(tokenBudget);
+      } else if (!status) {
+        if (query.isEmpty()) {
+          throw die("A query, --resume, --stop or --status is required");
+        }
+        if (rate <= 0 || concurrency <= 0) {
+          throw die("--rate and --concurrency must be positive");
+        }
+        reviewBackfill.start(
+            String.join(" ", query), rate, concurrency, tokenBudget != null ? tokenBudget : 0);
+      }
+    } catch (IllegalStateException e) {
+      throw die(e.getMessage());
+    }
+    printProgress(reviewBackfill.getProgress());
+  }
+
+  private void printProgress(ReviewBackfill.Progress progress) {
+    stdout.println("Status: " + progress.status());
+    if (progress.query() == null) {
+      return;
+    }
+    stdout.println("Query: " + progress.query());
+    stdout.println("Changes submitted for review: " + progress.submittedChanges());
+    stdout.println("Changes skipped: " + progress.skippedChanges());
+    stdout.println("Reviews in progress: " + progress.reviewsInProgress());
+    stdout.println(
+        "Tokens used: "
+            + progress.tokensUsed()
+            + (progress.tokenBudget() > 0 ? " of " + progress.tokenBudget() : ""));
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.utils;
+
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewCancelledException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cancellation token of a review. Cancelling a review interrupts the thread running it and runs
+ * the hooks registered by the review, such as aborting the pending HTTP call or the AI run, so that
+ * the thread is released right away and the outdated review is never posted.
+ */
+@Slf4j
+public class ReviewCancellation {
+  private static final ThreadLocal<ReviewCancellation> CURRENT = new ThreadLocal<>();
+
+  private final List<Runnable> cancelHooks = new ArrayList<>();
+  private volatile boolean cancelled;
+  private Thread thread;
+
+  public void run(Runnable task) {
+    synchronized (this) {
+      if (cancelled) {
+        log.debug("Review cancelled before being started");
+        return;
+      }
+      thread = Thread.currentThread();
+    }
+    CURRENT.set(this);
+    try {
+      task.run();
+    } finally {
+      CURRENT.remove();
+      synchronized (this) {
+        thread = null;
+        // The interruption only targets the cancelled review, not the next tasks of the thread
+        if (cancelled) {
+          Thread.interrupted();
+        }
+      }
+    }
+  }
+
+  public void cancel() {
+    List<Runnable> hooks;
+    synchronized (this) {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      if (thread != null) {
+        thread.interrupt();
+      }
+      hooks = List.copyOf(cancelHooks);
+    }
+    for (Runnable hook : hooks) {
+      try {
+        hook.run();
+      } catch (RuntimeException e) {
+        log.warn("Failed to run review cancellation hook", e);
+      }
+    }
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Registers a hook run if the review of the current thread is cancelled, returning the action
+   * that unregisters it.
+   */
+  public static Runnable onCancel(Runnable hook) {
+    ReviewCancellation cancellation = CURRENT.get();
+    if (cancellation == null) {
+      return () -> {};
+    }
+    synchronized (cancellation) {
+      cancellation.cancelHooks.add(hook);
+    }
+    return () -> {
+      synchronized (cancellation) {
+        cancellation.cancelHooks.remove(hook);
+      }
+    };
+  }
+
+  /**
+   * Wraps the task so that it runs on another thread as part of the review of the current thread,
+   * sharing its cancellation token and hooks.
+   */
+  public static <T> Callable<T> bind(Callable<T> task) {
+    ReviewCancellation cancellation = CURRENT.get();
+    if (cancellation == null) {
+      return task;
+    }
+    return () -> {
+      ReviewCancellation previous = CURRENT.get();
+      CURRENT.set(cancellation);
+      try {
+        check();
+        return task.call();
+      } finally {
+        if (previous == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(previous);
+        }
+      }
+    };
+  }
+
+  /** Cancellation token of the review running on the current thread, if any. */
+  public static ReviewCancellation getCurrent() {
+    return CURRENT.get();
+  }
+
+  public static boolean isCurrentCancelled() {
+    ReviewCancellation cancellation = CURRENT.get();
+    return cancellation != null && cancellation.cancelled;
+  }
+
+  public static void check() throws ReviewCancelledException {
+    if (isCurrentCancelled()) {
+      throw new ReviewCancelledException();
+    }
+  }
+}
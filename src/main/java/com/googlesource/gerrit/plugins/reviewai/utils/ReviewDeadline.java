@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.utils;
+
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewDeadlineExceededException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.googlesource.gerrit.plugins.reviewai.utils.ThreadUtils.threadSleep;
+
+/**
+ * Deadline of the review running on the current thread. Each stage of the review is granted only
+ * the time left before the deadline, so that the whole review is bounded by a single budget.
+ */
+public class ReviewDeadline {
+  private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+  public static <T> T call(long timeoutMillis, Supplier<T> supplier) {
+    if (timeoutMillis <= 0) {
+      return supplier.get();
+    }
+    Long previousDeadline = DEADLINE_NANOS.get();
+    DEADLINE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    try {
+      return supplier.get();
+    } finally {
+      if (previousDeadline == null) {
+        DEADLINE_NANOS.remove();
+      } else {
+        DEADLINE_NANOS.set(previousDeadline);
+      }
+    }
+  }
+
+  /** Wraps the task so that it runs within the deadline of the current thread on another thread. */
+  public static <T> Callable<T> bind(Callable<T> task) {
+    Long deadline = DEADLINE_NANOS.get();
+    if (deadline == null) {
+      return task;
+    }
+    return () -> {
+      Long previousDeadline = DEADLINE_NANOS.get();
+      DEADLINE_NANOS.set(deadline);
+      try {
+        return task.call();
+      } finally {
+        if (previousDeadline == null) {
+          DEADLINE_NANOS.remove();
+        } else {
+          DEADLINE_NANOS.set(previousDeadline);
+        }
+      }
+    };
+  }
+
+  public static boolean isSet() {
+    return DEADLINE_NANOS.get() != null;
+  }
+
+  public static long getRemainingMillis() {
+    Long deadline = DEADLINE_NANOS.get();
+    if (deadline == null) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+  }
+
+  public static long limit(long millis) {
+    return Math.min(millis, getRemainingMillis());
+  }
+
+  public static boolean isExpired() {
+    return isSet() && getRemainingMillis() <= 0;
+  }
+
+  public static void check() throws ReviewDeadlineExceededException {
+    if (isExpired()) {
+      throw new ReviewDeadlineExceededException();
+    }
+  }
+
+  public static void sleep(long millis) throws ReviewDeadlineExceededException {
+    threadSleep(limit(millis));
+    check();
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.utils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publications of the review running on the current thread. The reviews handed over to the
+ * publisher are tracked, so that the event is only marked as processed once they are written.
+ */
+public class ReviewPublication {
+  private static final ThreadLocal<ReviewPublication> CURRENT = new ThreadLocal<>();
+
+  private final List<CompletableFuture<Boolean>> publications = new CopyOnWriteArrayList<>();
+
+  public void run(Runnable task) {
+    ReviewPublication previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      task.run();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Completes with true once all the reviews handed over are published or deliberately dropped,
+   * or with false if any of them failed and the event has to be processed again.
+   */
+  public CompletableFuture<Boolean> whenSettled() {
+    return CompletableFuture.allOf(publications.toArray(CompletableFuture[]::new))
+        .thenApply(done -> publications.stream().allMatch(CompletableFuture::join));
+  }
+
+  /**
+   * Registers a publication of the review of the current thread, returning the future to complete
+   * with whether the review was published or deliberately dropped.
+   */
+  public static CompletableFuture<Boolean> register() {
+    CompletableFuture<Boolean> publication = new CompletableFuture<>();
+    ReviewPublication current = CURRENT.get();
+    if (current != null) {
+      current.publications.add(publication);
+    }
+    return publication;
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens sent to the AI provider by the review running on the current thread, as counted by the
+ * rate limiting of the requests.
+ */
+public class ReviewTokenUsage {
+  private static final ThreadLocal<ReviewTokenUsage> CURRENT = new ThreadLocal<>();
+
+  private final AtomicLong tokens = new AtomicLong();
+
+  public void run(Runnable task) {
+    ReviewTokenUsage previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      task.run();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  public long getTokens() {
+    return tokens.get();
+  }
+
+  public static void record(long tokens) {
+    ReviewTokenUsage usage = CURRENT.get();
+    if (usage != null) {
+      usage.tokens.addAndGet(tokens);
+    }
+  }
+}
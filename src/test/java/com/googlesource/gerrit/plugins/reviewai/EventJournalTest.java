@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gerrit.server.events.Event;
+import com.google.gerrit.server.events.EventGsonProvider;
+import com.google.gerrit.server.events.ProjectCreatedEvent;
+import com.google.gson.Gson;
+import com.googlesource.gerrit.plugins.reviewai.data.EventJournal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EventJournalTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final Gson eventGson = new EventGsonProvider().get();
+  private Path pluginDataPath;
+
+  @Before
+  public void setUp() {
+    pluginDataPath = tempFolder.getRoot().toPath();
+  }
+
+  @Test
+  public void shouldRecoverPendingEventsOnly() {
+    EventJournal journal = new EventJournal(pluginDataPath, eventGson);
+    String completedId = journal.append(createEvent("completed"));
+    journal.append(createEvent("pending"));
+    journal.complete(completedId);
+    journal.close();
+
+    Map<String, Event> recoveredEvents =
+        new EventJournal(pluginDataPath, eventGson).getRecoveredEvents();
+
+    assertEquals(1, recoveredEvents.size());
+    ProjectCreatedEvent recoveredEvent =
+        (ProjectCreatedEvent) recoveredEvents.values().iterator().next();
+    assertEquals("pending", recoveredEvent.projectName);
+  }
+
+  @Test
+  public void shouldCompactJournalWhenReopened() throws Exception {
+    EventJournal journal = new EventJournal(pluginDataPath, eventGson);
+    for (int i = 0; i < 10; i++) {
+      journal.complete(journal.append(createEvent("project" + i)));
+    }
+    journal.close();
+
+    EventJournal reopenedJournal = new EventJournal(pluginDataPath, eventGson);
+
+    assertTrue(reopenedJournal.getRecoveredEvents().isEmpty());
+    assertEquals(0, Files.size(pluginDataPath.resolve("events.journal")));
+  }
+
+  @Test
+  public void shouldWriteEntriesOnlyWhenSynced() throws Exception {
+    EventJournal journal = new EventJournal(pluginDataPath, eventGson);
+    journal.append(createEvent("pending"));
+
+    assertEquals(0, Files.size(pluginDataPath.resolve("events.journal")));
+    journal.sync();
+    assertEquals(1, Files.readAllLines(pluginDataPath.resolve("events.journal")).size());
+  }
+
+  @Test
+  public void shouldCompactJournalOnSyncOnceEnoughEventsAreCompleted() throws Exception {
+    EventJournal journal = new EventJournal(pluginDataPath, eventGson);
+    journal.append(createEvent("pending"));
+    for (int i = 0; i < 1000; i++) {
+      journal.complete(journal.append(createEvent("project" + i)));
+    }
+
+    journal.sync();
+
+    assertEquals(1, Files.readAllLines(pluginDataPath.resolve("events.journal")).size());
+  }
+
+  @Test
+  public void shouldDisableJournalWhenDataDirectoryIsUnusable() throws Exception {
+    Path notADirectory = tempFolder.newFile("notADirectory").toPath();
+
+    EventJournal journal = new EventJournal(notADirectory, eventGson);
+    String id = journal.append(createEvent("pending"));
+    journal.complete(id);
+    journal.sync();
+    journal.close();
+
+    assertNotNull(id);
+    assertTrue(journal.getRecoveredEvents().isEmpty());
+  }
+
+  private ProjectCreatedEvent createEvent(String projectName) {
+    ProjectCreatedEvent event = new ProjectCreatedEvent();
+    event.projectName = projectName;
+    event.headName = "refs/heads/master";
+    return event;
+  }
+}
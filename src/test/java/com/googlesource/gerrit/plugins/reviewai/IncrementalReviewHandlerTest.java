@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChangeDataLoader;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ChangeSetData;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.model.data.ReviewedFile;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.data.IncrementalReviewHandler;
+import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandler;
+import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerProvider;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IncrementalReviewHandlerTest {
+  private static final String PATCH_HEADING =
+      "From sha2 Mon Sep 17 00:00:00 2001\nSubject: [PATCH] Test Commit\n\n"
+          + "Change-Id: I1\n---\n";
+  private static final String PATCH_DIFF_A = "diff --git a/a.py b/a.py\n+print('a')\n";
+  private static final String PATCH_DIFF_B = "diff --git a/b.py b/b.py\n+print('b')\n";
+  private static final String PATCH_DIFF_C = "diff --git a/c.py b/c.py\n+print('c')\n";
+
+  private final Configuration config = mock(Configuration.class);
+  private final GerritChangeDataLoader gerritChangeDataLoader = mock(GerritChangeDataLoader.class);
+  private final PluginDataHandler changeDataHandler = mock(PluginDataHandler.class);
+  private final GerritChange change = mock(GerritChange.class);
+  private final ChangeSetData changeSetData = new ChangeSetData(1, -1, 1);
+  private IncrementalReviewHandler incrementalReviewHandler;
+
+  @Before
+  public void setUp() throws Exception {
+    PluginDataHandlerProvider pluginDataHandlerProvider = mock(PluginDataHandlerProvider.class);
+    when(pluginDataHandlerProvider.getChangeScope()).thenReturn(changeDataHandler);
+    when(config.getAiIncrementalReview()).thenReturn(true);
+    when(change.getIsCommentEvent()).thenReturn(false);
+    ChangeInfo changeInfo = new ChangeInfo();
+    changeInfo.currentRevision = "sha2";
+    when(gerritChangeDataLoader.getChangeInfo(change)).thenReturn(changeInfo);
+    when(gerritChangeDataLoader.getModifiedFiles(change, "sha2", "sha1"))
+        .thenReturn(Set.of("/COMMIT_MSG", "b.py"));
+    when(changeDataHandler.getJsonObjectValue("reviewedFiles", ReviewedFile.class))
+        .thenReturn(
+            Map.of("a.py", new ReviewedFile("sha1", -1), "b.py", new ReviewedFile("sha1", 1)));
+    incrementalReviewHandler =
+        new IncrementalReviewHandler(config, gerritChangeDataLoader, pluginDataHandlerProvider);
+  }
+
+  @Test
+  public void shouldReviewFilesModifiedSinceLastReview() {
+    incrementalReviewHandler.load(change, changeSetData, List.of("a.py", "b.py", "c.py"));
+
+    assertFalse(incrementalReviewHandler.isUnmodified());
+    assertEquals(
+        PATCH_HEADING + PATCH_DIFF_B + PATCH_DIFF_C,
+        incrementalReviewHandler.filterPatch(
+            PATCH_HEADING + PATCH_DIFF_A + PATCH_DIFF_B + PATCH_DIFF_C));
+    assertEquals(List.of(-1), incrementalReviewHandler.getCarriedForwardScores());
+
+    incrementalReviewHandler.save(Map.of("b.py", 0));
+
+    Map<String, ReviewedFile> reviewedFiles = new HashMap<>();
+    reviewedFiles.put("a.py", new ReviewedFile("sha1", -1));
+    reviewedFiles.put("b.py", new ReviewedFile("sha2", 0));
+    reviewedFiles.put("c.py", new ReviewedFile("sha2", null));
+    verify(changeDataHandler).setJsonValue("reviewedFiles", reviewedFiles);
+  }
+
+  @Test
+  public void shouldReviewAllFilesWhenForced() {
+    changeSetData.setForcedReview(true);
+    String patch = PATCH_HEADING + PATCH_DIFF_A + PATCH_DIFF_B;
+
+    incrementalReviewHandler.load(change, changeSetData, List.of("a.py", "b.py"));
+
+    assertEquals(patch, incrementalReviewHandler.filterPatch(patch));
+    assertEquals(List.of(), incrementalReviewHandler.getCarriedForwardScores());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import com.google.gerrit.server.events.CommentAddedEvent;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.googlesource.gerrit.plugins.reviewai.listener.ReviewCancellationRegistry;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+public class ReviewCancellationTest {
+  private static final String FULL_CHANGE_ID = "myProject~master~I1";
+
+  @Test
+  public void shouldInterruptReviewAndRunHooksWhenCancelled() throws Exception {
+    ReviewCancellation cancellation = new ReviewCancellation();
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicBoolean hookRun = new AtomicBoolean();
+    AtomicBoolean interrupted = new AtomicBoolean();
+    AtomicBoolean interruptCleared = new AtomicBoolean();
+    Thread thread =
+        new Thread(
+            () -> {
+              cancellation.run(
+                  () -> {
+                    ReviewCancellation.onCancel(() -> hookRun.set(true));
+                    started.countDown();
+                    try {
+                      Thread.sleep(60000);
+                    } catch (InterruptedException e) {
+                      interrupted.set(ReviewCancellation.isCurrentCancelled());
+                      Thread.currentThread().interrupt();
+                    }
+                  });
+              interruptCleared.set(!Thread.currentThread().isInterrupted());
+            });
+    thread.start();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    cancellation.cancel();
+    thread.join(5000);
+
+    assertTrue(interrupted.get());
+    assertTrue(hookRun.get());
+    assertTrue(interruptCleared.get());
+  }
+
+  @Test
+  public void shouldCancelOnlyPatchSetReviewsOnNewPatchSet() {
+    ReviewCancellationRegistry registry = new ReviewCancellationRegistry(Runnable::run);
+    ReviewCancellation patchSetReview =
+        registry.register(FULL_CHANGE_ID, mock(PatchSetCreatedEvent.class));
+    ReviewCancellation commentReply =
+        registry.register(FULL_CHANGE_ID, mock(CommentAddedEvent.class));
+
+    registry.cancelPatchSetReviews(FULL_CHANGE_ID);
+    assertTrue(patchSetReview.isCancelled());
+    assertFalse(commentReply.isCancelled());
+
+    registry.cancelAll(FULL_CHANGE_ID);
+    assertTrue(commentReply.isCancelled());
+
+    AtomicBoolean run = new AtomicBoolean();
+    commentReply.run(() -> run.set(true));
+    assertFalse(run.get());
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai;
+
+import static org.junit.Assert.*;
+
+import com.googlesource.gerrit.plugins.reviewai.errors.exceptions.ReviewDeadlineExceededException;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewDeadline;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class ReviewDeadlineTest {
+  @Test
+  public void shouldLimitStagesToRemainingTime() {
+    long limitedMillis = ReviewDeadline.call(1000, () -> ReviewDeadline.limit(60000));
+
+    assertTrue(limitedMillis <= 1000);
+    assertFalse(ReviewDeadline.isSet());
+    assertEquals(60000, ReviewDeadline.limit(60000));
+  }
+
+  @Test
+  public void shouldStopSleepingWhenDeadlineExpires() {
+    long start = System.currentTimeMillis();
+    boolean expired =
+        ReviewDeadline.call(
+            100,
+            () -> {
+              try {
+                ReviewDeadline.sleep(60000);
+                return false;
+              } catch (ReviewDeadlineExceededException e) {
+                return true;
+              }
+            });
+
+    assertTrue(expired);
+    assertTrue(System.currentTimeMillis() - start < 60000);
+  }
+
+  @Test
+  public void shouldCarryDeadlineToOtherThreads() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Long> limitedMillis =
+          ReviewDeadline.call(
+              1000,
+              () -> executor.submit(ReviewDeadline.bind(() -> ReviewDeadline.limit(60000))));
+
+      assertTrue(limitedMillis.get() <= 1000);
+      assertEquals(60000, (long) executor.submit(() -> ReviewDeadline.limit(60000)).get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -25,6 +25,7 @@ import com.google.gerrit.extensions.api.accounts.AccountApi;
 import com.google.gerrit.extensions.api.accounts.Accounts;
 import com.google.gerrit.extensions.api.changes.*;
 import com.google.gerrit.extensions.api.changes.ChangeApi.CommentsRequest;
+import com.google.gerrit.extensions.client.ListChangesOption;
 import com.google.gerrit.extensions.common.ChangeInfo;
 import com.google.gerrit.extensions.common.CommentInfo;
 import com.google.gerrit.extensions.common.GroupInfo;
@@ -39,6 +40,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
+import com.google.inject.Injector;
 import com.google.inject.TypeLiteral;
 import com.google.inject.util.Providers;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.langchain.client.api.LangChainClient;
@@ -48,12 +50,19 @@ import com.googlesource.gerrit.plugins.reviewai.config.ConfigCreator;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.data.ChangeSetDataProvider;
 import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandler;
+import com.googlesource.gerrit.plugins.reviewai.data.IncrementalReviewHandler;
 import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerProvider;
 import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.common.client.api.ai.IAiClient;
 import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.common.client.api.gerrit.IGerritClientPatchSet;
 import com.googlesource.gerrit.plugins.reviewai.interfaces.aibackend.common.client.code.context.ICodeContextPolicy;
 import com.googlesource.gerrit.plugins.reviewai.listener.EventHandlerTask;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventScope;
 import com.googlesource.gerrit.plugins.reviewai.localization.Localizer;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.CommentSnapshotCache;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.DiffRetrievalLimiter;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.FileDiffCache;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChangeDataLoader;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClient;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientComments;
 import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritClientFacade;
@@ -69,6 +78,7 @@ import lombok.NonNull;
 import org.junit.Before;
 import org.junit.Rule;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
@@ -80,6 +90,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
@@ -240,7 +251,9 @@ public class ReviewTestBase extends TestBase {
   private void mockGerritChangeDetailsApiCall() throws RestApiException {
     ChangeInfo changeInfo =
         readTestFileToClass("__files/gerritPatchSetDetail.json", ChangeInfo.class);
-    lenient().when(changeApiMock.get()).thenReturn(changeInfo);
+    lenient()
+        .when(changeApiMock.get(ArgumentMatchers.<EnumSet<ListChangesOption>>any()))
+        .thenReturn(changeInfo);
   }
 
   private void mockGerritChangeCommentsApiCall(String patchSetCommentsFilename)
@@ -297,23 +310,27 @@ public class ReviewTestBase extends TestBase {
     setupCommonEventMocks((PatchSetEvent) event); // Apply common mock configurations
     typeSpecificSetup.accept(event);
 
-    EventHandlerTask task =
+    Injector injector =
         Guice.createInjector(
-                new AbstractModule() {
-                  @Override
-                  protected void configure() {
-                    install(new TestGerritEventContextModule(config, event));
-
-                    bind(GerritClient.class).toInstance(gerritClient);
-                    bind(ConfigCreator.class).toInstance(mockConfigCreator);
-                    bind(ChangeSetDataProvider.class).toInstance(changeSetDataProvider);
-                    bind(PatchSetReviewer.class).toInstance(patchSetReviewer);
-                    bind(PluginDataHandlerProvider.class).toInstance(pluginDataHandlerProvider);
-                    bind(AccountCache.class).toInstance(mockAccountCache());
-                  }
-                })
-            .getInstance(EventHandlerTask.class);
-    return task.execute();
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                install(new TestGerritEventContextModule(config));
+
+                bind(GerritClient.class).toInstance(gerritClient);
+                bind(ConfigCreator.class).toInstance(mockConfigCreator);
+                bind(ChangeSetDataProvider.class).toInstance(changeSetDataProvider);
+                bind(PatchSetReviewer.class).toInstance(patchSetReviewer);
+                bind(PluginDataHandlerProvider.class).toInstance(pluginDataHandlerProvider);
+                bind(AccountCache.class).toInstance(mockAccountCache());
+                bind(FileDiffCache.class).toInstance(new FileDiffCache(1024 * 1024));
+                bind(DiffRetrievalLimiter.class).toInstance(new DiffRetrievalLimiter(8));
+                bind(CommentSnapshotCache.class).toInstance(new CommentSnapshotCache(1000));
+              }
+            });
+    GerritEventScope scope = injector.getInstance(GerritEventScope.class);
+    GerritEventScope.Context context = scope.newContext(config, new GerritChange(event));
+    return scope.call(context, () -> injector.getInstance(EventHandlerTask.class).execute());
   }
 
   protected ArgumentCaptor<ReviewInput> testRequestSent() throws RestApiException {
@@ -331,6 +348,7 @@ public class ReviewTestBase extends TestBase {
     when(changeSetDataProvider.get()).thenReturn(changeSetData);
 
     localizer = new Localizer(config);
+    GerritChangeDataLoader gerritChangeDataLoader = new GerritChangeDataLoader(config);
     gerritClient =
         new GerritClient(
             new GerritClientFacade(
@@ -343,8 +361,11 @@ public class ReviewTestBase extends TestBase {
                     getCodeContextPolicy(),
                     gitRepoFiles,
                     pluginDataHandlerProvider,
-                    localizer),
-                getGerritClientPatchSet()));
+                    localizer,
+                    gerritChangeDataLoader,
+                    new CommentSnapshotCache(1000)),
+                getGerritClientPatchSet(gerritChangeDataLoader),
+                gerritChangeDataLoader));
     patchSetReviewer =
         new PatchSetReviewer(
             gerritClient,
@@ -354,7 +375,9 @@ public class ReviewTestBase extends TestBase {
                 new GerritClientReview(
                     config, accountCacheMock, pluginDataHandlerProvider, localizer)),
             getOpenAIClient(),
-            localizer);
+            localizer,
+            new IncrementalReviewHandler(
+                config, gerritChangeDataLoader, pluginDataHandlerProvider));
     mockConfigCreator = mock(ConfigCreator.class);
   }
 
@@ -442,9 +465,16 @@ public class ReviewTestBase extends TestBase {
     };
   }
 
-  private IGerritClientPatchSet getGerritClientPatchSet() {
+  private IGerritClientPatchSet getGerritClientPatchSet(
+      GerritChangeDataLoader gerritChangeDataLoader) {
     return switch (config.getAiBackend()) {
-      case OPENAI, LANGCHAIN -> new GerritClientPatchSetOpenAi(config, accountCacheMock);
+      case OPENAI, LANGCHAIN ->
+          new GerritClientPatchSetOpenAi(
+              config,
+              accountCacheMock,
+              gerritChangeDataLoader,
+              new FileDiffCache(1024 * 1024),
+              new DiffRetrievalLimiter(8));
     };
   }
 }
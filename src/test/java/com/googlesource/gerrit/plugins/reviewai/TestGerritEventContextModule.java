@@ -17,7 +17,6 @@
 package com.googlesource.gerrit.plugins.reviewai;
 
 import com.google.gerrit.extensions.annotations.PluginData;
-import com.google.gerrit.server.events.Event;
 import com.google.inject.Provides;
 import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
 import com.googlesource.gerrit.plugins.reviewai.listener.GerritEventContextModule;
@@ -27,8 +26,8 @@ import java.nio.file.Paths;
 
 public class TestGerritEventContextModule extends GerritEventContextModule {
 
-  public TestGerritEventContextModule(Configuration config, Event event) {
-    super(config, event);
+  public TestGerritEventContextModule(Configuration config) {
+    super(Template.of(config));
   }
 
   @Provides
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class CommentSnapshotCacheTest {
+  private static final Project.NameKey PROJECT_NAME = Project.nameKey("myProject");
+  private static final GerritChange CHANGE =
+      new GerritChange(
+          PROJECT_NAME, BranchNameKey.create(PROJECT_NAME, "master"), Change.key("I1"));
+
+  private final CommentSnapshotCache commentSnapshotCache = new CommentSnapshotCache(1000);
+  private final List<CommentSnapshotCache.Snapshot> previousSnapshots = new ArrayList<>();
+
+  @Test
+  public void shouldReloadCommentsWhenMetaRevisionChanges() throws Exception {
+    CommentSnapshotCache.Snapshot snapshot =
+        commentSnapshotCache.get(CHANGE, "meta1", previous -> loadSnapshot("meta1", previous));
+
+    assertSame(snapshot, commentSnapshotCache.get(CHANGE, "meta1", previous -> null));
+    CommentSnapshotCache.Snapshot updatedSnapshot =
+        commentSnapshotCache.get(CHANGE, "meta2", previous -> loadSnapshot("meta2", previous));
+
+    assertEquals("meta2", updatedSnapshot.metaRevId());
+    assertEquals(2, previousSnapshots.size());
+    assertNull(previousSnapshots.get(0));
+    assertSame(snapshot, previousSnapshots.get(1));
+  }
+
+  @Test
+  public void shouldNotKeepCommentsWithoutMetaRevision() throws Exception {
+    commentSnapshotCache.get(CHANGE, null, previous -> loadSnapshot(null, previous));
+    commentSnapshotCache.get(CHANGE, null, previous -> loadSnapshot(null, previous));
+
+    assertEquals(2, previousSnapshots.size());
+    assertNull(previousSnapshots.get(1));
+  }
+
+  private CommentSnapshotCache.Snapshot loadSnapshot(
+      String metaRevId, CommentSnapshotCache.Snapshot previous) {
+    previousSnapshots.add(previous);
+    return new CommentSnapshotCache.Snapshot(metaRevId, List.of(), Map.of(), Map.of(), List.of());
+  }
+}
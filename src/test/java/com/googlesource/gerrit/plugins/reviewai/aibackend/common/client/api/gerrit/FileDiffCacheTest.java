@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.patch.diff.FileDiffProcessed;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class FileDiffCacheTest {
+  private static final FileDiffCache.Key KEY =
+      new FileDiffCache.Key("myProject", "sha2", 1, "test_file.py", false);
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  public void shouldLoadFileDiffOnce() throws Exception {
+    FileDiffCache fileDiffCache = new FileDiffCache(1024 * 1024);
+
+    FileDiffCache.Entry entry = fileDiffCache.get(KEY, this::loadEntry);
+
+    assertSame(entry, fileDiffCache.get(KEY, this::loadEntry));
+    assertEquals(1, loads.get());
+    fileDiffCache.get(
+        new FileDiffCache.Key("myProject", "sha2", 0, "test_file.py", false), this::loadEntry);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void shouldNotRetainFileDiffWhenDisabled() throws Exception {
+    FileDiffCache fileDiffCache = new FileDiffCache(0);
+
+    fileDiffCache.get(KEY, this::loadEntry);
+    fileDiffCache.get(KEY, this::loadEntry);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void shouldRethrowLoadingFailure() {
+    FileDiffCache fileDiffCache = new FileDiffCache(1024 * 1024);
+
+    assertThrows(
+        IOException.class,
+        () ->
+            fileDiffCache.get(
+                KEY,
+                () -> {
+                  throw new IOException("Gerrit unavailable");
+                }));
+  }
+
+  private FileDiffCache.Entry loadEntry() {
+    loads.incrementAndGet();
+    FileDiffProcessed fileDiffProcessed = mock(FileDiffProcessed.class);
+    when(fileDiffProcessed.getNewContent()).thenReturn(List.of("", "print('Hello')"));
+    return new FileDiffCache.Entry(fileDiffProcessed, "{\"content\":[]}");
+  }
+}
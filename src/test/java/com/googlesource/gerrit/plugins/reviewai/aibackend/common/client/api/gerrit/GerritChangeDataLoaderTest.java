@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.api.GerritApi;
+import com.google.gerrit.extensions.api.changes.ChangeApi;
+import com.google.gerrit.extensions.api.changes.ChangeApi.CommentsRequest;
+import com.google.gerrit.extensions.api.changes.Changes;
+import com.google.gerrit.extensions.client.ListChangesOption;
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.google.gerrit.extensions.common.CommentInfo;
+import com.google.gerrit.extensions.restapi.RestApiException;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GerritChangeDataLoaderTest {
+  private static final Project.NameKey PROJECT_NAME = Project.nameKey("myProject");
+  private static final GerritChange CHANGE =
+      new GerritChange(
+          PROJECT_NAME, BranchNameKey.create(PROJECT_NAME, "master"), Change.key("I1"));
+
+  private final Configuration config = mock(Configuration.class);
+  private final ChangeApi changeApi = mock(ChangeApi.class);
+  private final GerritChangeDataLoader gerritChangeDataLoader = new GerritChangeDataLoader(config);
+
+  @Before
+  public void setUp() throws RestApiException {
+    GerritApi gerritApi = mock(GerritApi.class);
+    Changes changes = mock(Changes.class);
+    when(config.getGerritApi()).thenReturn(gerritApi);
+    when(gerritApi.changes()).thenReturn(changes);
+    when(changes.id("myProject", "master", "I1")).thenReturn(changeApi);
+  }
+
+  @Test
+  public void shouldFetchChangeAndCommentsOnce() throws Exception {
+    ChangeInfo changeInfo = new ChangeInfo();
+    when(changeApi.get(any(EnumSet.class))).thenReturn(changeInfo);
+    CommentsRequest commentsRequest = mock(CommentsRequest.class);
+    Map<String, List<CommentInfo>> comments = Map.of();
+    when(changeApi.commentsRequest()).thenReturn(commentsRequest);
+    when(commentsRequest.get()).thenReturn(comments);
+
+    assertSame(changeInfo, gerritChangeDataLoader.getChangeInfo(CHANGE));
+    assertSame(changeInfo, gerritChangeDataLoader.getChangeInfo(CHANGE));
+    assertSame(comments, gerritChangeDataLoader.getComments(CHANGE));
+    assertSame(comments, gerritChangeDataLoader.getComments(CHANGE));
+
+    verify(changeApi, times(1))
+        .get(
+            EnumSet.of(
+                ListChangesOption.ALL_REVISIONS,
+                ListChangesOption.DETAILED_LABELS,
+                ListChangesOption.DETAILED_ACCOUNTS,
+                ListChangesOption.MESSAGES));
+    verify(commentsRequest, times(1)).get();
+    assertEquals(2, gerritChangeDataLoader.getApiCalls());
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.google.gerrit.extensions.common.DiffInfo;
+import com.google.gerrit.server.account.AccountCache;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewCancellation;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GerritClientPatchSetTest {
+  private static final Project.NameKey PROJECT_NAME = Project.nameKey("myProject");
+  private static final GerritChange CHANGE =
+      new GerritChange(
+          PROJECT_NAME, BranchNameKey.create(PROJECT_NAME, "master"), Change.key("I1"));
+  private static final List<String> FILENAMES = List.of("a.py", "b.py", "c.py", "d.py");
+
+  private final Configuration config = mock(Configuration.class);
+  private final GerritChangeDataLoader gerritChangeDataLoader = mock(GerritChangeDataLoader.class);
+  private final DiffRetrievalLimiter diffRetrievalLimiter = new DiffRetrievalLimiter(2);
+  private GerritClientPatchSet gerritClientPatchSet;
+
+  @Before
+  public void setUp() throws Exception {
+    when(config.getEnabledFileExtensions()).thenReturn(List.of("py"));
+    ChangeInfo changeInfo = new ChangeInfo();
+    changeInfo.currentRevision = "sha2";
+    when(gerritChangeDataLoader.getChangeInfo(CHANGE)).thenReturn(changeInfo);
+    gerritClientPatchSet = createGerritClientPatchSet();
+  }
+
+  @Test
+  public void shouldCollectDiffsInOrderOfFiles() throws Exception {
+    for (String filename : FILENAMES) {
+      when(gerritChangeDataLoader.getFileDiff(eq(CHANGE), eq("sha2"), eq(filename), anyInt()))
+          .thenAnswer(
+              invocation -> {
+                // The first file completes last
+                if (filename.equals(FILENAMES.get(0))) {
+                  Thread.sleep(200);
+                }
+                return createDiff(filename);
+              });
+    }
+
+    gerritClientPatchSet.retrieveFileDiff(CHANGE, 0);
+
+    assertEquals(FILENAMES.size(), gerritClientPatchSet.diffs.size());
+    for (int i = 0; i < FILENAMES.size(); i++) {
+      assertTrue(gerritClientPatchSet.diffs.get(i).contains(FILENAMES.get(i)));
+    }
+  }
+
+  @Test
+  public void shouldPropagateFailedFetch() throws Exception {
+    for (String filename : FILENAMES) {
+      when(gerritChangeDataLoader.getFileDiff(eq(CHANGE), eq("sha2"), eq(filename), anyInt()))
+          .thenReturn(createDiff(filename));
+    }
+    when(gerritChangeDataLoader.getFileDiff(eq(CHANGE), eq("sha2"), eq("c.py"), anyInt()))
+        .thenThrow(new IOException("Gerrit unavailable"));
+
+    assertThrows(IOException.class, () -> gerritClientPatchSet.retrieveFileDiff(CHANGE, 0));
+  }
+
+  @Test
+  public void shouldFetchDiffsWithinReviewCancellation() throws Exception {
+    AtomicBoolean cancellationSeen = new AtomicBoolean(true);
+    for (String filename : FILENAMES) {
+      when(gerritChangeDataLoader.getFileDiff(eq(CHANGE), eq("sha2"), eq(filename), anyInt()))
+          .thenAnswer(
+              invocation -> {
+                if (ReviewCancellation.getCurrent() == null) {
+                  cancellationSeen.set(false);
+                }
+                return createDiff(filename);
+              });
+    }
+
+    new ReviewCancellation()
+        .run(
+            () -> {
+              try {
+                gerritClientPatchSet.retrieveFileDiff(CHANGE, 0);
+              } catch (Exception e) {
+                throw new RuntimeException(e);
+              }
+            });
+
+    assertTrue(cancellationSeen.get());
+  }
+
+  @Test
+  public void shouldBoundConcurrentFetchesAcrossReviews() throws Exception {
+    AtomicInteger fetchesInProgress = new AtomicInteger();
+    AtomicInteger maxFetchesInProgress = new AtomicInteger();
+    for (String filename : FILENAMES) {
+      when(gerritChangeDataLoader.getFileDiff(eq(CHANGE), eq("sha2"), eq(filename), anyInt()))
+          .thenAnswer(
+              invocation -> {
+                maxFetchesInProgress.accumulateAndGet(
+                    fetchesInProgress.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                fetchesInProgress.decrementAndGet();
+                return createDiff(filename);
+              });
+    }
+    GerritClientPatchSet otherGerritClientPatchSet = createGerritClientPatchSet();
+
+    CompletableFuture<Void> otherRetrieval =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                otherGerritClientPatchSet.retrieveFileDiff(CHANGE, 0);
+              } catch (Exception e) {
+                throw new RuntimeException(e);
+              }
+            });
+    gerritClientPatchSet.retrieveFileDiff(CHANGE, 0);
+    otherRetrieval.join();
+
+    assertEquals(2, maxFetchesInProgress.get());
+    assertEquals(FILENAMES.size(), otherGerritClientPatchSet.diffs.size());
+  }
+
+  private GerritClientPatchSet createGerritClientPatchSet() {
+    GerritClientPatchSet client =
+        new GerritClientPatchSet(
+            config,
+            mock(AccountCache.class),
+            gerritChangeDataLoader,
+            new FileDiffCache(0),
+            diffRetrievalLimiter);
+    client.patchSetFiles = FILENAMES;
+    return client;
+  }
+
+  private static DiffInfo createDiff(String filename) {
+    DiffInfo diff = new DiffInfo();
+    diff.metaB = new DiffInfo.FileMeta();
+    diff.metaB.name = filename;
+    diff.metaB.contentType = "text/x-python";
+    DiffInfo.ContentEntry contentEntry = new DiffInfo.ContentEntry();
+    contentEntry.b = List.of("print('" + filename + "')");
+    diff.content = List.of(contentEntry);
+    return diff;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.api.GerritApi;
+import com.google.gerrit.extensions.api.changes.ChangeApi;
+import com.google.gerrit.extensions.api.changes.Changes;
+import com.google.gerrit.extensions.api.changes.ReviewInput;
+import com.google.gerrit.extensions.api.changes.ReviewInput.CommentInput;
+import com.google.gerrit.extensions.api.changes.ReviewResult;
+import com.google.gerrit.extensions.api.changes.RevisionApi;
+import com.google.gerrit.extensions.client.ChangeKind;
+import com.google.gerrit.extensions.client.ChangeStatus;
+import com.google.gerrit.extensions.client.ListChangesOption;
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.google.gerrit.extensions.common.RevisionInfo;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.RestApiException;
+import com.google.gerrit.git.LockFailureException;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.utils.ReviewPublication;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReviewPublisherTest {
+  private static final Project.NameKey PROJECT_NAME = Project.nameKey("myProject");
+  private static final GerritChange CHANGE =
+      new GerritChange(
+          PROJECT_NAME, BranchNameKey.create(PROJECT_NAME, "master"), Change.key("I1"));
+
+  private final Configuration config = mock(Configuration.class);
+  private final ChangeApi changeApi = mock(ChangeApi.class);
+  private final RevisionApi revisionApi = mock(RevisionApi.class);
+  private final ReviewPublisher reviewPublisher = new ReviewPublisher(Runnable::run);
+
+  @Before
+  public void setUp() throws RestApiException {
+    GerritApi gerritApi = mock(GerritApi.class);
+    Changes changes = mock(Changes.class);
+    when(config.getGerritApi()).thenReturn(gerritApi);
+    when(gerritApi.changes()).thenReturn(changes);
+    when(changes.id("myProject", "master", "I1")).thenReturn(changeApi);
+    when(changeApi.current()).thenReturn(revisionApi);
+  }
+
+  @Test
+  public void shouldDropReviewOutdatedByReworkedPatchSet() throws RestApiException {
+    mockRevisions(ChangeKind.TRIVIAL_REBASE, ChangeKind.REWORK);
+
+    reviewPublisher.publish(config, CHANGE, 1, ReviewInput.create());
+
+    verify(revisionApi, never()).review(any());
+  }
+
+  @Test
+  public void shouldMoveReviewToRebasedPatchSetAndRetryLockFailures() throws RestApiException {
+    mockRevisions(ChangeKind.TRIVIAL_REBASE, ChangeKind.NO_CODE_CHANGE);
+    when(revisionApi.review(any()))
+        .thenThrow(
+            RestApiException.wrap("Cannot post review", mock(LockFailureException.class)))
+        .thenReturn(new ReviewResult());
+
+    reviewPublisher.publish(config, CHANGE, 1, ReviewInput.create());
+
+    verify(revisionApi, times(2)).review(any());
+  }
+
+  @Test
+  public void shouldNotMoveInlineCommentsToRebasedPatchSet() throws RestApiException {
+    mockRevisions(ChangeKind.TRIVIAL_REBASE, ChangeKind.NO_CODE_CHANGE);
+    ReviewInput reviewInput = ReviewInput.create();
+    reviewInput.comments = Map.of("test_file.py", List.of(new CommentInput()));
+
+    reviewPublisher.publish(config, CHANGE, 1, reviewInput);
+
+    verify(revisionApi, never()).review(any());
+  }
+
+  @Test
+  public void shouldDropReviewOfAbandonedChange() throws RestApiException {
+    mockRevisions(ChangeKind.NO_CHANGE, ChangeKind.NO_CHANGE).status = ChangeStatus.ABANDONED;
+
+    reviewPublisher.publish(config, CHANGE, 1, ReviewInput.create());
+
+    verify(revisionApi, never()).review(any());
+  }
+
+  @Test
+  public void shouldSettlePublicationOnceReviewIsWritten() throws Exception {
+    mockRevisions(ChangeKind.NO_CHANGE, ChangeKind.NO_CHANGE);
+    List<Runnable> queuedPublications = new ArrayList<>();
+    ReviewPublisher queuedPublisher = new ReviewPublisher(queuedPublications::add);
+    ReviewPublication publication = new ReviewPublication();
+    when(revisionApi.review(any())).thenReturn(new ReviewResult());
+
+    publication.run(() -> queuedPublisher.publish(config, CHANGE, 3, ReviewInput.create()));
+
+    CompletableFuture<Boolean> settled = publication.whenSettled();
+    assertFalse(settled.isDone());
+    queuedPublications.forEach(Runnable::run);
+    assertTrue(settled.get());
+    verify(revisionApi).review(any());
+  }
+
+  @Test
+  public void shouldNotSettlePublicationOfFailedReview() throws Exception {
+    mockRevisions(ChangeKind.NO_CHANGE, ChangeKind.NO_CHANGE);
+    when(revisionApi.review(any())).thenThrow(new BadRequestException("Gerrit unavailable"));
+    ReviewPublication publication = new ReviewPublication();
+
+    publication.run(() -> reviewPublisher.publish(config, CHANGE, 3, ReviewInput.create()));
+
+    assertFalse(publication.whenSettled().get());
+  }
+
+  @Test
+  public void shouldCallOnPublishedOnlyOnceReviewIsWritten() throws Exception {
+    mockRevisions(ChangeKind.NO_CHANGE, ChangeKind.REWORK);
+    when(revisionApi.review(any()))
+        .thenThrow(new BadRequestException("Gerrit unavailable"))
+        .thenReturn(new ReviewResult());
+    AtomicInteger published = new AtomicInteger();
+
+    // Dropped as outdated, then failed, then written
+    reviewPublisher.publish(config, CHANGE, 1, ReviewInput.create(), published::incrementAndGet);
+    reviewPublisher.publish(config, CHANGE, 3, ReviewInput.create(), published::incrementAndGet);
+    assertEquals(0, published.get());
+    reviewPublisher.publish(config, CHANGE, 3, ReviewInput.create(), published::incrementAndGet);
+    assertEquals(1, published.get());
+  }
+
+  private ChangeInfo mockRevisions(ChangeKind secondKind, ChangeKind thirdKind)
+      throws RestApiException {
+    ChangeInfo changeInfo = new ChangeInfo();
+    changeInfo.revisions =
+        Map.of(
+            "rev1", createRevision(1, ChangeKind.REWORK),
+            "rev2", createRevision(2, secondKind),
+            "rev3", createRevision(3, thirdKind));
+    when(changeApi.get(ListChangesOption.ALL_REVISIONS)).thenReturn(changeInfo);
+    return changeInfo;
+  }
+
+  private static RevisionInfo createRevision(int number, ChangeKind kind) {
+    RevisionInfo revision = new RevisionInfo();
+    revision._number = number;
+    revision.kind = kind;
+    return revision;
+  }
+}
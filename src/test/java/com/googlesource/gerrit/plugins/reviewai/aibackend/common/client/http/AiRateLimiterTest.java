@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class AiRateLimiterTest {
+  private final AtomicLong nanoClock = new AtomicLong();
+
+  @Test
+  public void shouldAdmitRequestsRefilledOverTime() throws Exception {
+    AiRateLimiter rateLimiter = new AiRateLimiter("test", 2, 0, nanoClock::get);
+    rateLimiter.acquire(100);
+    rateLimiter.acquire(100);
+
+    CountDownLatch admitted = acquireInBackground(rateLimiter, 100);
+    assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+    rateLimiter.update(-1, -1, -1, -1);
+    assertTrue(admitted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldWaitForTokensEstimatedForRequest() throws Exception {
+    AiRateLimiter rateLimiter = new AiRateLimiter("test", 0, 1000, nanoClock::get);
+    rateLimiter.acquire(800);
+
+    CountDownLatch admitted = acquireInBackground(rateLimiter, 400);
+    assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+
+    rateLimiter.reconcileTokens(800, 500);
+    assertTrue(admitted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldRefillFromReportedRemainingQuota() throws Exception {
+    AiRateLimiter rateLimiter = new AiRateLimiter("test", 0, 0, nanoClock::get);
+    rateLimiter.update(10, 0, -1, -1);
+
+    CountDownLatch admitted = acquireInBackground(rateLimiter, 0);
+    assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+
+    rateLimiter.update(10, 5, -1, -1);
+    assertTrue(admitted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldKeepConsumedQuotaWhenLimitChanges() throws Exception {
+    AiRateLimiter rateLimiter = new AiRateLimiter("test", 2, 0, nanoClock::get);
+    rateLimiter.acquire(0);
+    rateLimiter.acquire(0);
+
+    rateLimiter.setLimits(3, 0);
+    assertFalse(rateLimiter.acquire(0, 0));
+    rateLimiter.setLimits(1, 0);
+    assertFalse(rateLimiter.acquire(0, 0));
+  }
+
+  @Test
+  public void shouldHoldRequestsBackWhilePaused() throws Exception {
+    AiRateLimiter rateLimiter = new AiRateLimiter("test", 0, 0, System::nanoTime);
+    rateLimiter.pause(200);
+
+    long start = System.nanoTime();
+    rateLimiter.acquire(0);
+
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+  }
+
+  @Test
+  public void shouldNotLimitWithoutConfiguredOrReportedLimits() throws Exception {
+    AiRateLimiter rateLimiter = new AiRateLimiter("test", 0, 0, nanoClock::get);
+    for (int i = 0; i < 1000; i++) {
+      rateLimiter.acquire(1_000_000);
+    }
+    assertEquals(0, nanoClock.get());
+  }
+
+  private CountDownLatch acquireInBackground(AiRateLimiter rateLimiter, long tokens) {
+    CountDownLatch admitted = new CountDownLatch(1);
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                rateLimiter.acquire(tokens);
+                admitted.countDown();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    thread.setDaemon(true);
+    thread.start();
+    return admitted;
+  }
+}
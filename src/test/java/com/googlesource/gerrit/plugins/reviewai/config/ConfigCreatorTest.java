@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.entities.Account;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.RefNames;
+import com.google.gerrit.extensions.api.GerritApi;
+import com.google.gerrit.server.account.AccountCache;
+import com.google.gerrit.server.account.AccountState;
+import com.google.gerrit.server.config.ConfigUpdatedEvent;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.events.RefUpdatedEvent;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.gerrit.server.util.OneOffRequestContext;
+import com.googlesource.gerrit.plugins.reviewai.data.EventJournal;
+import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerBaseProvider;
+import com.googlesource.gerrit.plugins.reviewai.listener.ChangeLeaseManager;
+import com.googlesource.gerrit.plugins.reviewai.listener.EventHandlerExecutor;
+import com.googlesource.gerrit.plugins.reviewai.listener.GerritListener;
+import com.googlesource.gerrit.plugins.reviewai.listener.ReviewCancellationRegistry;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+import org.eclipse.jgit.lib.Config;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConfigCreatorTest {
+  private static final String PLUGIN_NAME = "chatgpt-code-review-gerrit-plugin";
+  private static final String GERRIT_AI_USERNAME = "gpt";
+  private static final Project.NameKey PROJECT_NAME = Project.nameKey("myProject");
+  private static final Project.NameKey OTHER_PROJECT_NAME = Project.nameKey("otherProject");
+
+  private PluginConfigFactory configFactory;
+  private ConfigCreator configCreator;
+
+  @Before
+  public void setUp() throws Exception {
+    Config gerritConfig = new Config();
+    gerritConfig.setString(
+        "plugin", PLUGIN_NAME, Configuration.KEY_GERRIT_USERNAME, GERRIT_AI_USERNAME);
+    configFactory = mock(PluginConfigFactory.class);
+    when(configFactory.getFromGerritConfig(PLUGIN_NAME))
+        .thenAnswer(invocation -> PluginConfig.createFromGerritConfig(PLUGIN_NAME, gerritConfig));
+    when(configFactory.getFromProjectConfig(PROJECT_NAME, PLUGIN_NAME))
+        .thenAnswer(invocation -> PluginConfig.createFromGerritConfig(PLUGIN_NAME, new Config()));
+    when(configFactory.getFromProjectConfig(OTHER_PROJECT_NAME, PLUGIN_NAME))
+        .thenAnswer(invocation -> PluginConfig.createFromGerritConfig(PLUGIN_NAME, new Config()));
+
+    Account account = Account.builder(Account.id(1000000), Instant.now()).build();
+    AccountCache accountCache = mock(AccountCache.class);
+    when(accountCache.getByUsername(GERRIT_AI_USERNAME))
+        .thenReturn(Optional.of(AccountState.forAccount(account, Collections.emptyList())));
+
+    configCreator =
+        new ConfigCreator(
+            PLUGIN_NAME,
+            accountCache,
+            configFactory,
+            mock(OneOffRequestContext.class),
+            mock(GerritApi.class),
+            mock(PluginDataHandlerBaseProvider.class));
+  }
+
+  @Test
+  public void shouldReuseConfigurationSnapshotsAcrossEvents() throws Exception {
+    configCreator.createConfig(PROJECT_NAME);
+    configCreator.createConfig(PROJECT_NAME);
+
+    verify(configFactory, times(1)).getFromGerritConfig(PLUGIN_NAME);
+    verify(configFactory, times(1)).getFromProjectConfig(PROJECT_NAME, PLUGIN_NAME);
+  }
+
+  @Test
+  public void shouldReloadProjectConfigWhenMetaConfigIsUpdated() throws Exception {
+    configCreator.createConfig(PROJECT_NAME);
+    configCreator.createConfig(OTHER_PROJECT_NAME);
+
+    createListener().onEvent(mockRefUpdatedEvent(PROJECT_NAME, RefNames.REFS_CONFIG));
+    configCreator.createConfig(PROJECT_NAME);
+    configCreator.createConfig(OTHER_PROJECT_NAME);
+
+    verify(configFactory, times(2)).getFromProjectConfig(PROJECT_NAME, PLUGIN_NAME);
+    verify(configFactory, times(1)).getFromProjectConfig(OTHER_PROJECT_NAME, PLUGIN_NAME);
+    verify(configFactory, times(1)).getFromGerritConfig(PLUGIN_NAME);
+  }
+
+  @Test
+  public void shouldKeepProjectConfigWhenOtherRefIsUpdated() throws Exception {
+    configCreator.createConfig(PROJECT_NAME);
+
+    createListener().onEvent(mockRefUpdatedEvent(PROJECT_NAME, "refs/heads/master"));
+    configCreator.createConfig(PROJECT_NAME);
+
+    verify(configFactory, times(1)).getFromProjectConfig(PROJECT_NAME, PLUGIN_NAME);
+  }
+
+  @Test
+  public void shouldReloadAllSnapshotsWhenPluginSectionIsUpdated() throws Exception {
+    configCreator.createConfig(PROJECT_NAME);
+    Config oldConfig = new Config();
+    Config newConfig = new Config();
+    newConfig.setString("plugin", PLUGIN_NAME, Configuration.KEY_GERRIT_USERNAME, "other");
+
+    assertTrue(
+        configCreator.configUpdated(new ConfigUpdatedEvent(oldConfig, newConfig)).size() > 0);
+    configCreator.createConfig(PROJECT_NAME);
+
+    verify(configFactory, times(2)).getFromGerritConfig(PLUGIN_NAME);
+    verify(configFactory, times(2)).getFromProjectConfig(PROJECT_NAME, PLUGIN_NAME);
+  }
+
+  @Test
+  public void shouldKeepSnapshotsWhenOtherSectionIsUpdated() throws Exception {
+    configCreator.createConfig(PROJECT_NAME);
+    Config oldConfig = new Config();
+    Config newConfig = new Config();
+    newConfig.setString("gerrit", null, "canonicalWebUrl", "https://gerrit.example.com");
+
+    assertEquals(
+        ConfigUpdatedEvent.NO_UPDATES,
+        configCreator.configUpdated(new ConfigUpdatedEvent(oldConfig, newConfig)));
+    configCreator.createConfig(PROJECT_NAME);
+
+    verify(configFactory, times(1)).getFromGerritConfig(PLUGIN_NAME);
+    verify(configFactory, times(1)).getFromProjectConfig(PROJECT_NAME, PLUGIN_NAME);
+  }
+
+  private GerritListener createListener() {
+    PluginConfigFactory listenerConfigFactory = mock(PluginConfigFactory.class);
+    when(listenerConfigFactory.getFromGerritConfig(PLUGIN_NAME))
+        .thenReturn(PluginConfig.createFromGerritConfig(PLUGIN_NAME, new Config()));
+    // The partitioning is disabled and the events come from another instance, so that only the
+    // configuration invalidation is exercised
+    return new GerritListener(
+        configCreator,
+        mock(EventHandlerExecutor.class),
+        mock(PluginDataHandlerBaseProvider.class),
+        mock(ChangeLeaseManager.class),
+        mock(ReviewMetrics.class),
+        mock(ReviewCancellationRegistry.class),
+        mock(EventJournal.class),
+        mock(WorkQueue.class),
+        PLUGIN_NAME,
+        listenerConfigFactory,
+        "myInstance");
+  }
+
+  private RefUpdatedEvent mockRefUpdatedEvent(Project.NameKey projectName, String refName) {
+    RefUpdatedEvent event = mock(RefUpdatedEvent.class);
+    when(event.getProjectNameKey()).thenReturn(projectName);
+    when(event.getRefName()).thenReturn(refName);
+    event.instanceId = "otherInstance";
+    return event;
+  }
+}
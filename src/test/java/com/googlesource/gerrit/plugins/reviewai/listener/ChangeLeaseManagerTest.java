@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ChangeLeaseManagerTest {
+  private static final long LEASE_TIMEOUT_MS = 60_000;
+  private static final Project.NameKey PROJECT_NAME_KEY = Project.nameKey("myProject");
+  private static final Change.Key CHANGE_KEY =
+      Change.key("Iabcdef0123456789abcdef0123456789abcdef01");
+  private static final GerritChange CHANGE = createChange("master", CHANGE_KEY);
+  private static final GerritChange OTHER_CHANGE =
+      createChange("master", Change.key("I0123456789abcdef0123456789abcdef01234567"));
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path leaseDirectory;
+
+  @Before
+  public void setUp() {
+    leaseDirectory = tempFolder.getRoot().toPath();
+  }
+
+  @Test
+  public void shouldGrantChangeToSingleNode() {
+    ChangeLeaseManager node1 = createNode("node1", NOW);
+    ChangeLeaseManager node2 = createNode("node2", NOW);
+    node1.heartbeat();
+    node2.heartbeat();
+
+    assertTrue(node1.tryAcquire(CHANGE));
+    assertFalse(node2.tryAcquire(CHANGE));
+    assertTrue(node1.tryAcquire(CHANGE));
+    assertTrue(node2.tryAcquire(OTHER_CHANGE));
+  }
+
+  @Test
+  public void shouldTakeOverChangeWhenOwnerHeartbeatExpires() {
+    ChangeLeaseManager node1 = createNode("node1", NOW);
+    node1.heartbeat();
+    assertTrue(node1.tryAcquire(CHANGE));
+
+    ChangeLeaseManager node2 =
+        createNode("node2", NOW.plus(Duration.ofMillis(LEASE_TIMEOUT_MS + 1)));
+    node2.heartbeat();
+
+    assertTrue(node2.tryAcquire(CHANGE));
+    assertFalse(node1.tryAcquire(CHANGE));
+  }
+
+  @Test
+  public void shouldTakeOverChangeWhenOwnerIsStopped() {
+    ChangeLeaseManager node1 = createNode("node1", NOW);
+    ChangeLeaseManager node2 = createNode("node2", NOW);
+    node1.heartbeat();
+    node2.heartbeat();
+    assertTrue(node1.tryAcquire(CHANGE));
+
+    node1.stop();
+
+    assertTrue(node2.tryAcquire(CHANGE));
+  }
+
+  @Test
+  public void shouldAllowOtherNodeToAcquireReleasedChange() {
+    ChangeLeaseManager node1 = createNode("node1", NOW);
+    ChangeLeaseManager node2 = createNode("node2", NOW);
+    node1.heartbeat();
+    node2.heartbeat();
+    assertTrue(node1.tryAcquire(CHANGE));
+
+    node2.release(CHANGE);
+    assertFalse(node2.tryAcquire(CHANGE));
+
+    node1.release(CHANGE);
+    assertTrue(node2.tryAcquire(CHANGE));
+  }
+
+  @Test
+  public void shouldLeaseChangesOfDifferentBranchesSeparately() {
+    ChangeLeaseManager node1 = createNode("node1", NOW);
+    ChangeLeaseManager node2 = createNode("node2", NOW);
+    node1.heartbeat();
+    node2.heartbeat();
+
+    assertTrue(node1.tryAcquire(CHANGE));
+    assertTrue(node2.tryAcquire(createChange("stable", CHANGE_KEY)));
+  }
+
+  private static GerritChange createChange(String branch, Change.Key changeKey) {
+    return new GerritChange(
+        PROJECT_NAME_KEY, BranchNameKey.create(PROJECT_NAME_KEY, branch), changeKey);
+  }
+
+  private ChangeLeaseManager createNode(String nodeId, Instant now) {
+    return new ChangeLeaseManager(
+        true, leaseDirectory, nodeId, LEASE_TIMEOUT_MS, Clock.fixed(now, ZoneOffset.UTC), null);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.QueueShedPolicies;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ChangeTaskSerializerTest {
+  private static final String CHANGE_1 = "myProject~master~I1";
+  private static final String CHANGE_2 = "myProject~master~I2";
+
+  private final ChangeTaskSerializer serializer = new ChangeTaskSerializer(Runnable::run);
+  private final List<String> submitted = new ArrayList<>();
+  private final List<String> shed = new ArrayList<>();
+
+  @Test
+  public void shouldDeferTasksOfChangeInProgress() {
+    serializer.submit(CHANGE_1, () -> submitted.add("1a"));
+    serializer.submit(CHANGE_1, () -> submitted.add("1b"));
+    serializer.submit(CHANGE_2, () -> submitted.add("2a"));
+    serializer.submit(CHANGE_1, () -> submitted.add("1c"));
+    assertEquals(List.of("1a", "2a"), submitted);
+
+    serializer.release(CHANGE_1);
+    assertEquals(List.of("1a", "2a", "1b"), submitted);
+
+    serializer.release(CHANGE_1);
+    serializer.release(CHANGE_1);
+    serializer.submit(CHANGE_1, () -> submitted.add("1d"));
+    assertEquals(List.of("1a", "2a", "1b", "1c", "1d"), submitted);
+  }
+
+  @Test
+  public void shouldHandNextTaskToExecutorOnRelease() {
+    List<Runnable> executed = new ArrayList<>();
+    ChangeTaskSerializer queuedSerializer = new ChangeTaskSerializer(executed::add);
+    queuedSerializer.submit(CHANGE_1, () -> submitted.add("1a"));
+    queuedSerializer.submit(CHANGE_1, () -> submitted.add("1b"));
+
+    queuedSerializer.release(CHANGE_1);
+    assertEquals(List.of("1a"), submitted);
+
+    executed.forEach(Runnable::run);
+    assertEquals(List.of("1a", "1b"), submitted);
+  }
+
+  @Test
+  public void shouldRejectNewTaskWhenMailboxIsFull() {
+    ChangeTaskSerializer boundedSerializer =
+        new ChangeTaskSerializer(Runnable::run, 1, QueueShedPolicies.REJECT_NEW);
+    submit(boundedSerializer, "1a");
+    submit(boundedSerializer, "1b");
+    submit(boundedSerializer, "1c");
+    assertEquals(List.of("1c"), shed);
+
+    boundedSerializer.release(CHANGE_1);
+    boundedSerializer.release(CHANGE_1);
+    assertEquals(List.of("1a", "1b"), submitted);
+  }
+
+  @Test
+  public void shouldDropOldestTaskWhenMailboxIsFull() {
+    ChangeTaskSerializer boundedSerializer =
+        new ChangeTaskSerializer(Runnable::run, 1, QueueShedPolicies.DROP_OLDEST);
+    submit(boundedSerializer, "1a");
+    submit(boundedSerializer, "1b");
+    submit(boundedSerializer, "1c");
+    assertEquals(List.of("1b"), shed);
+
+    boundedSerializer.release(CHANGE_1);
+    boundedSerializer.release(CHANGE_1);
+    assertEquals(List.of("1a", "1c"), submitted);
+  }
+
+  private void submit(ChangeTaskSerializer changeTaskSerializer, String task) {
+    changeTaskSerializer.submit(CHANGE_1, () -> submitted.add(task), () -> shed.add(task));
+  }
+}
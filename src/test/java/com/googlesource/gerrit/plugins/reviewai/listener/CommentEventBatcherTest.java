@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Suppliers;
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.data.AccountAttribute;
+import com.google.gerrit.server.events.CommentAddedEvent;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class CommentEventBatcherTest {
+  private static final Project.NameKey PROJECT_NAME = Project.nameKey("myProject");
+  private static final Change.Key CHANGE_KEY =
+      Change.key("Iabcdef0123456789abcdef0123456789abcdef01");
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void shouldMergeCommentsOfSameUserWithinWindow() throws Exception {
+    CommentEventBatcher batcher = new CommentEventBatcher(200, scheduler);
+    CommentAddedEvent firstEvent = createCommentAddedEvent("user", 100);
+    GerritChange change = new GerritChange(firstEvent);
+    CompletableFuture<List<String>> submitted = new CompletableFuture<>();
+
+    assertFalse(batcher.join(firstEvent, "1"));
+    batcher.submit(firstEvent, change, "1", submitted::complete);
+    assertTrue(batcher.join(createCommentAddedEvent("user", 103), "2"));
+    assertFalse(batcher.join(createCommentAddedEvent("otherUser", 104), "3"));
+    assertFalse(batcher.join(createCommentAddedEvent("stable", "user", 104), "3"));
+
+    assertEquals(List.of("1", "2"), submitted.get(5, TimeUnit.SECONDS));
+    assertEquals(103, change.getBatchEndTimeStamp());
+    assertTrue(change.isBatched());
+    assertFalse(batcher.join(createCommentAddedEvent("user", 105), "4"));
+  }
+
+  @Test
+  public void shouldSubmitRightAwayWhenBatchingIsDisabled() {
+    CommentEventBatcher batcher = new CommentEventBatcher(0, scheduler);
+    CommentAddedEvent event = createCommentAddedEvent("user", 100);
+    GerritChange change = new GerritChange(event);
+    CompletableFuture<List<String>> submitted = new CompletableFuture<>();
+
+    batcher.submit(event, change, "1", submitted::complete);
+
+    assertEquals(List.of("1"), submitted.getNow(null));
+    assertFalse(change.isBatched());
+  }
+
+  private CommentAddedEvent createCommentAddedEvent(String authorUsername, long createdOn) {
+    return createCommentAddedEvent("master", authorUsername, createdOn);
+  }
+
+  private CommentAddedEvent createCommentAddedEvent(
+      String branch, String authorUsername, long createdOn) {
+    CommentAddedEvent event = mock(CommentAddedEvent.class);
+    when(event.getProjectNameKey()).thenReturn(PROJECT_NAME);
+    when(event.getBranchNameKey()).thenReturn(BranchNameKey.create(PROJECT_NAME, branch));
+    when(event.getChangeKey()).thenReturn(CHANGE_KEY);
+    AccountAttribute author = new AccountAttribute();
+    author.username = authorUsername;
+    event.author = Suppliers.ofInstance(author);
+    event.eventCreatedOn = createdOn;
+    return event;
+  }
+}
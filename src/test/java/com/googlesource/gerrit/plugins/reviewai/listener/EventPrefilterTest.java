@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Suppliers;
+import com.google.gerrit.entities.Account;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.api.GerritApi;
+import com.google.gerrit.extensions.client.ChangeKind;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.data.AccountAttribute;
+import com.google.gerrit.server.data.ChangeAttribute;
+import com.google.gerrit.server.data.PatchSetAttribute;
+import com.google.gerrit.server.events.CommentAddedEvent;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.google.gerrit.server.util.OneOffRequestContext;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import org.eclipse.jgit.lib.Config;
+import org.junit.Test;
+
+public class EventPrefilterTest {
+  private static final String PLUGIN_NAME = "chatgpt-code-review-gerrit-plugin";
+  private static final Project.NameKey PROJECT_NAME = Project.nameKey("myProject");
+  private static final String BOT_USERNAME = "gpt";
+
+  @Test
+  public void shouldSkipEventsOfDisabledProjects() {
+    Configuration config = createConfiguration(false);
+
+    assertFalse(EventPrefilter.isRelevant(config, createCommentAddedEvent("user", "@gpt hi")));
+  }
+
+  @Test
+  public void shouldSkipCommentsNotAddressedToTheBot() {
+    Configuration config = createConfiguration(true);
+
+    assertFalse(EventPrefilter.isRelevant(config, createCommentAddedEvent("user", "LGTM")));
+    assertFalse(EventPrefilter.isRelevant(config, createCommentAddedEvent(BOT_USERNAME, "@gpt")));
+    assertTrue(EventPrefilter.isRelevant(config, createCommentAddedEvent("user", "@gpt why?")));
+    assertTrue(
+        EventPrefilter.isRelevant(
+            config, createCommentAddedEvent("user", "Patch Set 1:\n\n(1 comment)")));
+  }
+
+  @Test
+  public void shouldSkipPatchSetsThatWouldNotBeReviewed() {
+    Configuration config = createConfiguration(true);
+
+    assertTrue(
+        EventPrefilter.isRelevant(config, createPatchSetCreatedEvent(ChangeKind.REWORK, false)));
+    assertFalse(
+        EventPrefilter.isRelevant(
+            config, createPatchSetCreatedEvent(ChangeKind.TRIVIAL_REBASE, false)));
+    assertFalse(
+        EventPrefilter.isRelevant(config, createPatchSetCreatedEvent(ChangeKind.REWORK, true)));
+  }
+
+  private Configuration createConfiguration(boolean globalEnable) {
+    Config cfg = new Config();
+    cfg.setString("plugin", PLUGIN_NAME, "gerritUserName", BOT_USERNAME);
+    cfg.setBoolean("plugin", PLUGIN_NAME, "globalEnable", globalEnable);
+    return new Configuration(
+        (OneOffRequestContext) null,
+        (GerritApi) null,
+        PluginConfig.createFromGerritConfig(PLUGIN_NAME, cfg),
+        PluginConfig.createFromGerritConfig(PLUGIN_NAME, new Config()),
+        "gpt@example.com",
+        Account.id(1000000));
+  }
+
+  private CommentAddedEvent createCommentAddedEvent(String authorUsername, String comment) {
+    CommentAddedEvent event = mock(CommentAddedEvent.class);
+    when(event.getProjectNameKey()).thenReturn(PROJECT_NAME);
+    event.change = Suppliers.ofInstance(createChangeAttribute(false));
+    event.author = Suppliers.ofInstance(createAccountAttribute(authorUsername));
+    event.comment = comment;
+    return event;
+  }
+
+  private PatchSetCreatedEvent createPatchSetCreatedEvent(ChangeKind kind, boolean wip) {
+    PatchSetAttribute patchSetAttribute = new PatchSetAttribute();
+    patchSetAttribute.kind = kind;
+    patchSetAttribute.author = createAccountAttribute("user");
+    PatchSetCreatedEvent event = mock(PatchSetCreatedEvent.class);
+    when(event.getProjectNameKey()).thenReturn(PROJECT_NAME);
+    event.change = Suppliers.ofInstance(createChangeAttribute(wip));
+    event.patchSet = Suppliers.ofInstance(patchSetAttribute);
+    return event;
+  }
+
+  private ChangeAttribute createChangeAttribute(boolean wip) {
+    ChangeAttribute changeAttribute = new ChangeAttribute();
+    changeAttribute.wip = wip ? true : null;
+    return changeAttribute;
+  }
+
+  private AccountAttribute createAccountAttribute(String username) {
+    AccountAttribute accountAttribute = new AccountAttribute();
+    accountAttribute.username = username;
+    return accountAttribute;
+  }
+}
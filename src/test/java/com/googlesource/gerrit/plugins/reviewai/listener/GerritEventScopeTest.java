@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gerrit.entities.Account;
+import com.google.gerrit.extensions.api.GerritApi;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.util.OneOffRequestContext;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.ProvisionException;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChangeDataLoader;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.jgit.lib.Config;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GerritEventScopeTest {
+  private static final String PLUGIN_NAME = "chatgpt-code-review-gerrit-plugin";
+  private static final String FULL_CHANGE_ID =
+      "myProject~master~Iabcdef0123456789abcdef0123456789abcdef01";
+  private static final String OTHER_FULL_CHANGE_ID =
+      "myProject~master~I0123456789abcdef0123456789abcdef01234567";
+
+  private GerritEventScope scope;
+  private Injector injector;
+
+  @Before
+  public void setUp() {
+    scope = new GerritEventScope();
+    // Same event scoped bindings as `GerritEventContextModule`, without its AI client bindings
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindScope(GerritEventScoped.class, scope);
+                bind(Configuration.class)
+                    .toProvider(GerritEventScope.seededKeyProvider(Configuration.class))
+                    .in(GerritEventScoped.class);
+                bind(GerritChange.class)
+                    .toProvider(GerritEventScope.seededKeyProvider(GerritChange.class))
+                    .in(GerritEventScoped.class);
+              }
+            });
+  }
+
+  @Test
+  public void shouldProvideSeededInstancesOfEachEvent() {
+    Configuration config = createConfig("NONE");
+    Configuration otherConfig = createConfig("NONE");
+    GerritChange change = new GerritChange(FULL_CHANGE_ID);
+    GerritChange otherChange = new GerritChange(OTHER_FULL_CHANGE_ID);
+    GerritEventScope.Context context = scope.newContext(config, change);
+    GerritEventScope.Context otherContext = scope.newContext(otherConfig, otherChange);
+
+    assertSame(config, scope.call(context, () -> injector.getInstance(Configuration.class)));
+    assertSame(change, scope.call(context, () -> injector.getInstance(GerritChange.class)));
+    assertSame(
+        otherConfig, scope.call(otherContext, () -> injector.getInstance(Configuration.class)));
+    assertSame(
+        otherChange, scope.call(otherContext, () -> injector.getInstance(GerritChange.class)));
+  }
+
+  @Test
+  public void shouldKeepScopedInstancesSeparateBetweenEvents() {
+    GerritEventScope.Context context =
+        scope.newContext(createConfig("NONE"), new GerritChange(FULL_CHANGE_ID));
+    GerritEventScope.Context otherContext =
+        scope.newContext(createConfig("NONE"), new GerritChange(OTHER_FULL_CHANGE_ID));
+
+    GerritChangeDataLoader loader = getDataLoader(context);
+
+    assertSame(loader, getDataLoader(context));
+    assertNotSame(loader, getDataLoader(otherContext));
+    assertSame(getDataLoader(otherContext), getDataLoader(otherContext));
+  }
+
+  @Test
+  public void shouldRestoreOuterEventAfterNestedCall() {
+    GerritChange change = new GerritChange(FULL_CHANGE_ID);
+    GerritEventScope.Context context = scope.newContext(createConfig("NONE"), change);
+    GerritEventScope.Context otherContext =
+        scope.newContext(createConfig("NONE"), new GerritChange(OTHER_FULL_CHANGE_ID));
+
+    GerritChange outerChange =
+        scope.call(
+            context,
+            () -> {
+              scope.run(otherContext, () -> injector.getInstance(GerritChange.class));
+              return injector.getInstance(GerritChange.class);
+            });
+
+    assertSame(change, outerChange);
+    assertThrows(ProvisionException.class, () -> injector.getInstance(GerritChange.class));
+  }
+
+  @Test
+  public void shouldNotShareEventAcrossThreads() {
+    GerritEventScope.Context context =
+        scope.newContext(createConfig("NONE"), new GerritChange(FULL_CHANGE_ID));
+
+    CompletableFuture<?> otherThreadAccess =
+        scope.call(
+            context,
+            () ->
+                CompletableFuture.runAsync(
+                    () -> injector.getInstance(GerritChangeDataLoader.class)));
+
+    assertThrows(Exception.class, otherThreadAccess::join);
+  }
+
+  @Test
+  public void shouldShareTemplateBetweenEventsWithSameImplementations() {
+    GerritEventContextModule.Template template =
+        GerritEventContextModule.Template.of(createConfig("NONE"));
+
+    assertEquals(template, GerritEventContextModule.Template.of(createConfig("NONE")));
+    assertNotEquals(template, GerritEventContextModule.Template.of(createConfig("UPLOAD_ALL")));
+  }
+
+  private GerritChangeDataLoader getDataLoader(GerritEventScope.Context context) {
+    return scope.call(context, () -> injector.getInstance(GerritChangeDataLoader.class));
+  }
+
+  private Configuration createConfig(String codeContextPolicy) {
+    Config projectConfig = new Config();
+    projectConfig.setString("plugin", PLUGIN_NAME, "codeContextPolicy", codeContextPolicy);
+    return new Configuration(
+        (OneOffRequestContext) null,
+        (GerritApi) null,
+        PluginConfig.createFromGerritConfig(PLUGIN_NAME, new Config()),
+        PluginConfig.createFromGerritConfig(PLUGIN_NAME, projectConfig),
+        "ai@email.com",
+        Account.id(1000000));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.entities.Account;
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.events.EventGsonProvider;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.google.gerrit.server.git.WorkQueue;
+import com.googlesource.gerrit.plugins.reviewai.config.ConfigCreator;
+import com.googlesource.gerrit.plugins.reviewai.data.EventJournal;
+import com.googlesource.gerrit.plugins.reviewai.data.PluginDataHandlerBaseProvider;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.ScheduledExecutorService;
+import org.eclipse.jgit.lib.Config;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GerritListenerTest {
+  private static final String PLUGIN_NAME = "chatgpt-code-review-gerrit-plugin";
+  private static final String INSTANCE_ID = "myInstance";
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Path journalFile;
+  private EventJournal eventJournal;
+  private ScheduledExecutorService intakeExecutor;
+  private GerritListener gerritListener;
+
+  @Before
+  public void setUp() {
+    Path pluginDataPath = tempFolder.getRoot().toPath();
+    journalFile = pluginDataPath.resolve("events.journal");
+    eventJournal = new EventJournal(pluginDataPath, new EventGsonProvider().get());
+    // The intake is not run, so that only the work done on the dispatch thread is observed
+    intakeExecutor = mock(ScheduledExecutorService.class);
+    WorkQueue workQueue = mock(WorkQueue.class);
+    when(workQueue.createQueue(anyInt(), anyString())).thenReturn(intakeExecutor);
+    PluginConfigFactory pluginConfigFactory = mock(PluginConfigFactory.class);
+    when(pluginConfigFactory.getFromGerritConfig(PLUGIN_NAME))
+        .thenReturn(PluginConfig.createFromGerritConfig(PLUGIN_NAME, new Config()));
+
+    gerritListener =
+        new GerritListener(
+            mock(ConfigCreator.class),
+            mock(EventHandlerExecutor.class),
+            mock(PluginDataHandlerBaseProvider.class),
+            mock(ChangeLeaseManager.class),
+            mock(ReviewMetrics.class),
+            mock(ReviewCancellationRegistry.class),
+            eventJournal,
+            workQueue,
+            PLUGIN_NAME,
+            pluginConfigFactory,
+            INSTANCE_ID);
+  }
+
+  @Test
+  public void shouldNotWriteJournalOnDispatchThread() throws Exception {
+    gerritListener.onEvent(createPatchSetCreatedEvent());
+
+    verify(intakeExecutor, times(1)).execute(any(Runnable.class));
+    assertEquals(0, Files.size(journalFile));
+    eventJournal.sync();
+    assertEquals(1, Files.readAllLines(journalFile).size());
+  }
+
+  private PatchSetCreatedEvent createPatchSetCreatedEvent() {
+    Change change =
+        new Change(
+            Change.key("Iabcdef0123456789abcdef0123456789abcdef01"),
+            Change.id(1),
+            Account.id(1000001),
+            BranchNameKey.create(Project.nameKey("myProject"), "master"),
+            Instant.now());
+    PatchSetCreatedEvent event = new PatchSetCreatedEvent(change);
+    event.instanceId = INSTANCE_ID;
+    return event;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Suppliers;
+import com.google.gerrit.entities.BranchNameKey;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.client.ChangeKind;
+import com.google.gerrit.server.data.PatchSetAttribute;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PatchSetEventCoalescerTest {
+  private static final Project.NameKey PROJECT_NAME_KEY = Project.nameKey("myProject");
+  private static final Change.Key CHANGE_KEY =
+      Change.key("Iabcdef0123456789abcdef0123456789abcdef01");
+
+  private final PatchSetEventCoalescer patchSetEventCoalescer = new PatchSetEventCoalescer();
+  private final List<String> reviewedPatchSets = new ArrayList<>();
+
+  @Test
+  public void shouldSkipReviewSupersededOnSameBranchOnly() {
+    GerritChange change = createChange("master");
+    Runnable firstTask = coalesce(change, "master/1");
+    Runnable secondTask = coalesce(change, "master/2");
+    Runnable otherBranchTask = coalesce(createChange("stable"), "stable/1");
+
+    firstTask.run();
+    secondTask.run();
+    otherBranchTask.run();
+
+    assertEquals(List.of("master/2", "stable/1"), reviewedPatchSets);
+    assertEquals(0, patchSetEventCoalescer.getQueuedTaskCount());
+  }
+
+  @Test
+  public void shouldForgetDiscardedTask() {
+    GerritChange change = createChange("master");
+    Runnable task = coalesce(change, "master/1");
+
+    patchSetEventCoalescer.discard(change, task);
+
+    assertEquals(0, patchSetEventCoalescer.getQueuedTaskCount());
+  }
+
+  private Runnable coalesce(GerritChange change, String patchSet) {
+    PatchSetAttribute patchSetAttribute = new PatchSetAttribute();
+    patchSetAttribute.kind = ChangeKind.REWORK;
+    PatchSetCreatedEvent event = mock(PatchSetCreatedEvent.class);
+    event.patchSet = Suppliers.ofInstance(patchSetAttribute);
+    return patchSetEventCoalescer.coalesce(change, event, () -> reviewedPatchSets.add(patchSet));
+  }
+
+  private static GerritChange createChange(String branch) {
+    return new GerritChange(
+        PROJECT_NAME_KEY, BranchNameKey.create(PROJECT_NAME_KEY, branch), CHANGE_KEY);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gerrit.entities.Project;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ProjectFairQueueTest {
+  private static final Project.NameKey MONOREPO = Project.nameKey("monorepo");
+  private static final Project.NameKey SMALL_PROJECT = Project.nameKey("small");
+
+  @Test
+  public void shouldAlternateBetweenProjectsWithEqualWeight() {
+    ProjectFairQueue<String> queue = new ProjectFairQueue<>();
+    queue.add(MONOREPO, 1, "m1");
+    queue.add(MONOREPO, 1, "m2");
+    queue.add(MONOREPO, 1, "m3");
+    queue.add(SMALL_PROJECT, 1, "s1");
+
+    assertEquals(List.of("m1", "s1", "m2", "m3"), drain(queue));
+  }
+
+  @Test
+  public void shouldServeProjectsAccordingToWeight() {
+    ProjectFairQueue<String> queue = new ProjectFairQueue<>();
+    for (int i = 1; i <= 4; i++) {
+      queue.add(MONOREPO, 1, "m" + i);
+      queue.add(SMALL_PROJECT, 2, "s" + i);
+    }
+
+    assertEquals(List.of("m1", "s1", "s2", "m2", "s3", "s4", "m3", "m4"), drain(queue));
+  }
+
+  @Test
+  public void shouldReportDepthPerProject() {
+    ProjectFairQueue<String> queue = new ProjectFairQueue<>();
+    queue.add(MONOREPO, 1, "m1");
+    queue.add(MONOREPO, 1, "m2");
+    queue.add(SMALL_PROJECT, 1, "s1");
+
+    assertEquals(3, queue.size());
+    assertEquals(Integer.valueOf(2), queue.getDepths().get(MONOREPO));
+    assertEquals(Integer.valueOf(1), queue.getDepths().get(SMALL_PROJECT));
+
+    drain(queue);
+    assertTrue(queue.isEmpty());
+    assertTrue(queue.getDepths().isEmpty());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void shouldPollOldestItemAcrossProjects() {
+    ProjectFairQueue<String> queue = new ProjectFairQueue<>();
+    queue.add(SMALL_PROJECT, 1, "s1");
+    queue.add(MONOREPO, 1, "m1");
+    queue.add(MONOREPO, 1, "m2");
+
+    assertEquals("s1", queue.pollOldest());
+    assertEquals("m1", queue.pollOldest());
+    assertEquals(List.of("m2"), drain(queue));
+  }
+
+  @Test
+  public void shouldPollFromLowestWeightProject() {
+    ProjectFairQueue<String> queue = new ProjectFairQueue<>();
+    queue.add(SMALL_PROJECT, 2, "s1");
+    queue.add(MONOREPO, 1, "m1");
+    queue.add(MONOREPO, 1, "m2");
+
+    assertEquals(1, queue.getLowestWeight());
+    assertEquals("m1", queue.pollLowestWeight());
+    assertEquals("m2", queue.pollLowestWeight());
+    assertEquals(2, queue.getLowestWeight());
+    assertEquals(List.of("s1"), drain(queue));
+  }
+
+  private List<String> drain(ProjectFairQueue<String> queue) {
+    List<String> items = new ArrayList<>();
+    String item;
+    while ((item = queue.poll()) != null) {
+      items.add(item);
+    }
+    return items;
+  }
+}
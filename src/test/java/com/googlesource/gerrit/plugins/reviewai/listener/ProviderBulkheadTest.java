@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.events.CommentAddedEvent;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import com.googlesource.gerrit.plugins.reviewai.config.Configuration;
+import com.googlesource.gerrit.plugins.reviewai.listener.EventHandlerLane.LaneType;
+import com.googlesource.gerrit.plugins.reviewai.metrics.ReviewMetrics;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.AiBackends;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.LangChainProviders;
+import com.googlesource.gerrit.plugins.reviewai.settings.Settings.QueueShedPolicies;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+
+public class ProviderBulkheadTest {
+  private static final String BULKHEAD = "GEMINI/https://generativelanguage.googleapis.com";
+
+  private final List<Runnable> pendingRuns = new ArrayList<>();
+  private final Executor executor = pendingRuns::add;
+  private final EventHandlerLane interactiveLane = createLane(LaneType.INTERACTIVE);
+  private final EventHandlerLane batchLane = createLane(LaneType.BATCH);
+
+  @Test
+  public void shouldNameBulkheadAfterProviderAndDomain() {
+    Configuration config = mock(Configuration.class);
+    when(config.getAiBackend()).thenReturn(AiBackends.LANGCHAIN);
+    when(config.getLcProvider()).thenReturn(LangChainProviders.GEMINI);
+    when(config.getAiDomain()).thenReturn("https://generativelanguage.googleapis.com");
+
+    assertEquals(BULKHEAD, ProviderBulkhead.getName(config));
+  }
+
+  @Test
+  public void shouldKeepInteractiveLaneForReplies() {
+    ProviderBulkhead bulkhead = new ProviderBulkhead(BULKHEAD, interactiveLane, batchLane, true);
+
+    batchLane.execute(createChange(), 1, () -> {}, () -> {});
+
+    assertEquals(batchLane, bulkhead.selectLane(mock(PatchSetCreatedEvent.class)));
+    assertEquals(interactiveLane, bulkhead.selectLane(mock(CommentAddedEvent.class)));
+  }
+
+  @Test
+  public void shouldBorrowIdleLaneOfSameBulkheadOnly() {
+    ProviderBulkhead bulkhead = new ProviderBulkhead(BULKHEAD, interactiveLane, batchLane, true);
+    assertEquals(batchLane, bulkhead.selectLane(mock(PatchSetCreatedEvent.class)));
+
+    interactiveLane.execute(createChange(), 1, () -> {}, () -> {});
+    assertEquals(batchLane, bulkhead.selectLane(mock(CommentAddedEvent.class)));
+
+    batchLane.execute(createChange(), 1, () -> {}, () -> {});
+    assertEquals(interactiveLane, bulkhead.selectLane(mock(CommentAddedEvent.class)));
+    assertEquals(batchLane, bulkhead.selectLane(mock(PatchSetCreatedEvent.class)));
+    assertEquals(2, bulkhead.getRunningTasks());
+    assertEquals(2, bulkhead.getPoolSize());
+  }
+
+  private EventHandlerLane createLane(LaneType laneType) {
+    return new EventHandlerLane(
+        laneType,
+        BULKHEAD,
+        1,
+        10,
+        QueueShedPolicies.REJECT_NEW,
+        executor,
+        mock(ReviewMetrics.class));
+  }
+
+  private static GerritChange createChange() {
+    GerritChange change = mock(GerritChange.class);
+    when(change.getProjectNameKey()).thenReturn(Project.nameKey("myProject"));
+    return change;
+  }
+}
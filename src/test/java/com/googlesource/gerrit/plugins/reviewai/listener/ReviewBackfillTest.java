@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025. The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.googlesource.gerrit.plugins.reviewai.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gerrit.extensions.common.AccountInfo;
+import com.google.gerrit.extensions.common.ChangeInfo;
+import com.google.gerrit.extensions.common.CommitInfo;
+import com.google.gerrit.extensions.common.GitPerson;
+import com.google.gerrit.extensions.common.RevisionInfo;
+import com.google.gerrit.server.data.PatchSetAttribute;
+import com.google.gerrit.server.events.PatchSetCreatedEvent;
+import com.googlesource.gerrit.plugins.reviewai.aibackend.common.client.api.gerrit.GerritChange;
+import java.util.Map;
+import org.junit.Test;
+
+public class ReviewBackfillTest {
+
+  @Test
+  public void shouldCreateEventOfCurrentPatchSet() {
+    ChangeInfo changeInfo = new ChangeInfo();
+    changeInfo.project = "myProject";
+    changeInfo.branch = "master";
+    changeInfo.changeId = "I1";
+    changeInfo._number = 42;
+    changeInfo.topic = "myTopic";
+    changeInfo.owner = new AccountInfo(1000);
+    changeInfo.currentRevision = "sha2";
+    RevisionInfo revision = new RevisionInfo("refs/changes/42/42/2", 2);
+    revision.uploader = new AccountInfo(1001);
+    revision.uploader.username = "uploader";
+    revision.commit = new CommitInfo();
+    revision.commit.author = new GitPerson();
+    revision.commit.author.name = "Author";
+    revision.commit.author.email = "author@example.com";
+    changeInfo.revisions = Map.of("sha2", revision);
+
+    PatchSetCreatedEvent event = ReviewBackfill.createEvent(changeInfo);
+
+    assertEquals("myProject~master~I1", new GerritChange(event).getFullChangeId());
+    assertTrue(PatchSetEventCoalescer.isRework(event));
+    PatchSetAttribute patchSetAttribute = event.patchSet.get();
+    assertEquals(2, patchSetAttribute.number);
+    assertEquals("sha2", patchSetAttribute.revision);
+    assertEquals("uploader", patchSetAttribute.uploader.username);
+    assertEquals("Author", patchSetAttribute.author.name);
+    assertEquals("author@example.com", patchSetAttribute.author.email);
+    assertEquals("myTopic", event.change.get().topic);
+  }
+}